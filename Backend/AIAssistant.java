@@ -1,14 +1,15 @@
 package Backend;
 
 import java.io.*;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 /**
  * <h1>AIAssistant Class</h1>
@@ -36,10 +37,69 @@ import java.time.LocalDate;
  * Version 2.0 (11/17/2024):
  * - Update to accept different parameters for goals
  * - Returns a list of tasks instead of modifying a goal
+ * Version 2.1 (10/17/2026):
+ * - Add getTasksAIAsync, which sends the request without blocking and supports a timeout and cancellation
+ * - The API URL can be overridden with the OPENAI_API_URL property
+ * - Requests go through the shared HttpClientManager instead of a new HttpClient per prompt
+ * - Generated tasks are cached per goal and due-date horizon in AITaskCache
+ * - Responses are parsed with the streaming JsonContentExtractor, which handles escapes
+ *   and lets tasks be parsed line by line while the body arrives
+ * - Add streamTasksAIAsync, which requests server-sent events and hands out each task as its line completes
+ * - Add getTasksAIBatchAsync, which breaks several goals down in as few requests as possible
+ * - Tasks are generated by a pluggable AIProvider: OpenAIProvider (the former ChatGPT code) or the
+ *   offline LocalTaskProvider, selected with the AI_PROVIDER property or setProvider
+ * - OpenAI requests are retried with backoff behind a circuit breaker, falling back to the LocalTaskProvider
+ * - AI answers are read by the tolerant single-pass AITaskParser
  */
 
 public class AIAssistant
 {
+    //how long an asynchronous request may take before it fails
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    //most goals packed into one prompt by getTasksAIBatchAsync, so each answer stays well within the token limit
+    public static final int BATCH_SIZE = 5;
+
+    //property naming the provider used when none was set with setProvider
+    public static final String PROVIDER_PROPERTY = "AI_PROVIDER";
+
+    private static final OpenAIProvider OPENAI_PROVIDER = new OpenAIProvider();
+    private static final LocalTaskProvider LOCAL_PROVIDER = new LocalTaskProvider();
+
+    //OpenAI with retries and a circuit breaker, falling back to the local templates when it is unavailable
+    private static final ResilientAIProvider RESILIENT_OPENAI_PROVIDER = new ResilientAIProvider(OPENAI_PROVIDER, LOCAL_PROVIDER);
+
+    //provider set at runtime, overriding the AI_PROVIDER property
+    private static volatile AIProvider provider;
+
+    /**
+     * Get the provider that answers AI requests
+     * This is the provider set with setProvider, or else the one named by the AI_PROVIDER
+     * property: "local" for the offline LocalTaskProvider, anything else for OpenAI behind
+     * a ResilientAIProvider that falls back to the LocalTaskProvider
+     *
+     * @return the current provider
+     */
+    public static AIProvider getProvider()
+    {
+        AIProvider selected = provider;
+        if (selected != null)
+        {
+            return selected;
+        }
+        return LocalTaskProvider.NAME.equalsIgnoreCase(System.getProperty(PROVIDER_PROPERTY))
+                ? LOCAL_PROVIDER : RESILIENT_OPENAI_PROVIDER;
+    }
+
+    /**
+     * Set the provider that answers AI requests from now on
+     *
+     * @param aiProvider : the provider, or null to go back to the one named by the AI_PROVIDER property
+     */
+    public static void setProvider(AIProvider aiProvider)
+    {
+        provider = aiProvider;
+    }
 
     /**
      * Load ENV variables into system properties
@@ -86,37 +146,56 @@ public class AIAssistant
      */
     public static String chatGPT(String prompt)
     {
-        String url = "https://api.openai.com/v1/chat/completions";
-        String apiKey = System.getProperty("OPENAI_API_KEY");
-        String model = "gpt-3.5-turbo";
-
-        try
-        {
-            //wrap prompt in request body
-            String body = "{\"model\": \"" + model + "\", \"messages\": [{\"role\": \"user\", \"content\": \"" + prompt + "\"}]}";
-
-            //create HttpClient to handle requests and responses
-            HttpClient client = HttpClient.newHttpClient();
-
-            //create HttpRequest
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Authorization", "Bearer " + apiKey)
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(body))
-                    .build();
+        return chatGPTAsync(prompt, DEFAULT_TIMEOUT).join();
+    }
 
-            //send request and get the response
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Send a prompt to ChatGPT without blocking the calling thread
+     * Rate limits, server errors and timeouts are retried with backoff until the timeout
+     * Cancelling the returned future aborts the HTTP request
+     *
+     * @param prompt : the prompt to send
+     * @param timeout : how long to wait for the response, including retries
+     * @return a future completing with the response, or exceptionally on an error status, an I/O error
+     *         or a TimeoutException
+     */
+    public static CompletableFuture<String> chatGPTAsync(String prompt, Duration timeout)
+    {
+        //retried on temporary failures, without a fallback since only ChatGPT can answer a free-form prompt
+        return RESILIENT_OPENAI_PROVIDER.call(attemptTimeout -> OPENAI_PROVIDER.chatAsync(prompt, attemptTimeout, null), timeout);
+    }
 
-            //extract and return message from JSON response
-            return extractMessageFromJSONResponse(response.body());
+    /**
+     * Send a prompt to ChatGPT without blocking the calling thread
+     * The response body is parsed as it arrives, so each line of the answer can be handled
+     * before the whole body has been received
+     * Cancelling the returned future aborts the HTTP request
+     *
+     * @param prompt : the prompt to send
+     * @param timeout : how long to wait for the complete response
+     * @param lineListener : receives each line of the answer as soon as it is complete, or null
+     * @return a future completing with the response, or exceptionally on an error status, an I/O error
+     *         or a TimeoutException
+     */
+    public static CompletableFuture<String> chatGPTAsync(String prompt, Duration timeout, Consumer<String> lineListener)
+    {
+        return OPENAI_PROVIDER.chatAsync(prompt, timeout, lineListener);
+    }
 
-        }
-        catch (IOException | InterruptedException e)
-        {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Send a prompt to ChatGPT in streaming mode, where the answer arrives as server-sent events
+     * a few tokens at a time, so each line of the answer can be handled as soon as it is generated
+     * Cancelling the returned future aborts the HTTP request
+     *
+     * @param prompt : the prompt to send
+     * @param timeout : how long to wait for the complete response
+     * @param lineListener : receives each line of the answer as soon as it is complete, or null
+     * @return a future completing with the whole answer, or exceptionally on an error status, an I/O error
+     *         or a TimeoutException
+     */
+    public static CompletableFuture<String> chatGPTStreamAsync(String prompt, Duration timeout, Consumer<String> lineListener)
+    {
+        return OPENAI_PROVIDER.chatStreamAsync(prompt, timeout, lineListener);
     }
 
     /**
@@ -127,23 +206,26 @@ public class AIAssistant
      */
     public static String extractMessageFromJSONResponse(String response)
     {
-        //find the start of the content in JSON and skip the header
-        int start = response.indexOf("content")+ 11;
-
-        //find the end of the response
-        int end = response.indexOf("\"", start);
-
-        //extract the message
-        String extractedMessage = response.substring(start, end);
-
-        //replace newlines for formatting and return
-        return extractedMessage.replace("\\n", "\n");
-
+        try
+        {
+            //tokenize the JSON so escaped quotes and unicode escapes are handled
+            String extractedMessage = JsonContentExtractor.extract(new StringReader(response), null);
+            if (extractedMessage == null)
+            {
+                throw new IllegalStateException("AI response has no content");
+            }
+            return extractedMessage;
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("AI response is not valid JSON", e);
+        }
     }
 
     /**
      * Helper function to parse the CSV returned by a ChatGPT response
      * and turn it into a list of tasks
+     * Uses the tolerant AITaskParser and logs the lines it could not read
      *
      * @param csv : the CSV output from ChatGPT
      * @return a List of tasks
@@ -152,40 +234,33 @@ public class AIAssistant
     {
         System.out.println("Parsing CSV: " + csv); // Debugging line
 
-        //create a list to store the output
-        ArrayList<Task> tasks = new ArrayList<Task>();
+        AITaskParser parser = AITaskParser.parse(csv);
+        logRejectedLines(parser);
+        return new ArrayList<Task>(parser.getTasks());
+    }
 
-        //split the CSV by lines
-        String[] lines = csv.split("\n");
+    /**
+     * Helper function to parse one line of the CSV returned by a ChatGPT response
+     *
+     * @param csvLine : a line of the CSV output, not the header
+     * @return the task, or null if the line is empty or malformed
+     */
+    public static Task parseTaskLine(String csvLine)
+    {
+        return AITaskParser.parseTask(csvLine, 0, csvLine.length());
+    }
 
-        //start at 1 to skip the header
-        for(int i = 1; i < lines.length; i++)
+    /**
+     * Log the lines of an AI answer that were not tasks
+     *
+     * @param parser : the parser that read the answer
+     */
+    static void logRejectedLines(AITaskParser parser)
+    {
+        for (String line : parser.getRejectedLines())
         {
-            //get the line and trim any potential unnecessary whitespace
-            String line = lines[i].trim();
-
-            //skip line if empty
-            if(line.isEmpty())
-                continue;
-
-            //split the line by commas
-            String[] fields = line.split(",");
-            if (fields.length != 3) {
-                System.err.println("Malformed line: " + line); // Debugging line
-                continue;
-            }
-
-            try {
-                String taskName = fields[0].trim();
-                int hours = Integer.parseInt(fields[1].trim());
-                int minutes = Integer.parseInt(fields[2].trim());
-                tasks.add(new Task(taskName, hours, minutes));
-            } catch (NumberFormatException e) {
-                System.err.println("Invalid number format in line: " + line); // Debugging line
-            }
+            System.err.println("Malformed line: " + line); // Debugging line
         }
-
-        return tasks;
     }
 
     //Static methods for getting AI assistance
@@ -207,21 +282,253 @@ public class AIAssistant
             return null;
         }
 
-        //send a prompt to get tasks for the goal name to ChatGPT
-        String response = chatGPT("Give me a list of tasks to break down the goal '" + goal + "' "
-                + "starting " + LocalDate.now() + " and ending " + dueDate + " into smaller achievable tasks. "
-                + "Format the output in a csv as follows, which each task on a new line: 'task name, hours to complete task, minutes to complete task' "
-                + "The hours and minutes should add up to the total time estimated to complete the task. "
-                + "The required time to complete all tasks should not exceed the time until the due date. "
-                + "The tasks should not be numbered and the first line should be the format specification. "
-                + "The tasks should be simple, achievable through self-study, and should not require professional instruction, public performance, or additional resources. "
-                + "Ensure task names are short, simple, and do not contain commas or special punctuation.");
-        System.out.println("Response:" + response);
-        //parse the response into a list of tasks
-        ArrayList<Task> tasks = new ArrayList<Task>();
-        tasks = parseCSV(response);
+        //answer from the cache if the same goal and horizon were broken down before, else ask the provider
+        return new ArrayList<Task>(requestTasksAsync(goal, dueDate, DEFAULT_TIMEOUT, false, null).join());
+    }
 
+    /**
+     * Asynchronous version of getTasksAI that does not block the calling thread
+     * Uses the default timeout
+     *
+     * @param goal : the name of the goal to break down
+     * @param dueDate : the due date of the goal
+     * @return a future completing with the list of tasks, or with null if the goal has no name or due date
+     */
+    public static CompletableFuture<List<Task>> getTasksAIAsync(String goal, LocalDate dueDate)
+    {
+        return getTasksAIAsync(goal, dueDate, DEFAULT_TIMEOUT);
+    }
 
+    /**
+     * Asynchronous version of getTasksAI that does not block the calling thread
+     * Cancelling the returned future aborts the request
+     *
+     * @param goal : the name of the goal to break down
+     * @param dueDate : the due date of the goal
+     * @param timeout : how long to wait for the AI before failing with a TimeoutException
+     * @return a future completing with the list of tasks, or with null if the goal has no name or due date
+     */
+    public static CompletableFuture<List<Task>> getTasksAIAsync(String goal, LocalDate dueDate, Duration timeout)
+    {
+        return getTasksAIAsync(goal, dueDate, timeout, false);
+    }
+
+    /**
+     * Asynchronous version of getTasksAI that does not block the calling thread
+     * Cancelling the returned future aborts the request
+     *
+     * @param goal : the name of the goal to break down
+     * @param dueDate : the due date of the goal
+     * @param timeout : how long to wait for the AI before failing with a TimeoutException
+     * @param bypassCache : true to always ask the AI, even if tasks for this goal are cached
+     * @return a future completing with the list of tasks, or with null if the goal has no name or due date
+     */
+    public static CompletableFuture<List<Task>> getTasksAIAsync(String goal, LocalDate dueDate, Duration timeout, boolean bypassCache)
+    {
+        return requestTasksAsync(goal, dueDate, timeout, bypassCache, null);
+    }
+
+    /**
+     * Streaming version of getTasksAIAsync: the AI's answer arrives as server-sent events and
+     * each task is handed to the listener as soon as its line is complete, so the first task
+     * is available long before the whole plan has been generated
+     * Cancelling the returned future aborts the request
+     *
+     * @param goal : the name of the goal to break down
+     * @param dueDate : the due date of the goal
+     * @param timeout : how long to wait for the AI before failing with a TimeoutException
+     * @param bypassCache : true to always ask the AI, even if tasks for this goal are cached
+     * @param taskListener : receives each task as soon as it is parsed, on the thread reading the response
+     * @return a future completing with the list of all tasks, or with null if the goal has no name or due date
+     */
+    public static CompletableFuture<List<Task>> streamTasksAIAsync(String goal, LocalDate dueDate, Duration timeout,
+                                                                   boolean bypassCache, Consumer<Task> taskListener)
+    {
+        return requestTasksAsync(goal, dueDate, timeout, bypassCache, taskListener);
+    }
+
+    /**
+     * Ask the current provider to break a goal down into tasks, or answer from the cache
+     * A provider streams its answer when given a task listener
+     *
+     * @param goal : the name of the goal to break down
+     * @param dueDate : the due date of the goal
+     * @param timeout : how long to wait for the AI before failing with a TimeoutException
+     * @param bypassCache : true to always ask the AI, even if tasks for this goal are cached
+     * @param taskListener : receives each task as soon as it is parsed, or null
+     * @return a future completing with the list of tasks, or with null if the goal has no name or due date
+     */
+    private static CompletableFuture<List<Task>> requestTasksAsync(String goal, LocalDate dueDate, Duration timeout,
+                                                                   boolean bypassCache, Consumer<Task> taskListener)
+    {
+        //do not process request if goal has no name or due date
+        if(goal == null || goal.isEmpty() || dueDate == null)
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        //local providers answer instantly, so only remote answers are worth caching
+        AIProvider aiProvider = getProvider();
+        boolean useCache = !aiProvider.isLocal();
+
+        //answer from the cache if the same goal and horizon were broken down before
+        if (useCache && !bypassCache)
+        {
+            List<Task> cachedTasks = AITaskCache.getInstance().get(goal, dueDate);
+            if (cachedTasks != null)
+            {
+                if (taskListener != null)
+                {
+                    cachedTasks.forEach(taskListener);
+                }
+                return CompletableFuture.completedFuture(cachedTasks);
+            }
+        }
+
+        CompletableFuture<List<Task>> response = aiProvider.generateTasks(goal, dueDate, timeout, taskListener);
+        CompletableFuture<List<Task>> tasks = response.thenApply(generatedTasks -> {
+            if (useCache && !ResilientAIProvider.isFallback(generatedTasks))
+            {
+                AITaskCache.getInstance().put(goal, dueDate, generatedTasks);
+            }
+            return generatedTasks;
+        });
+
+        //cancelling the tasks also cancels the request
+        tasks.whenComplete((result, error) -> {
+            if (tasks.isCancelled())
+            {
+                response.cancel(true);
+            }
+        });
         return tasks;
     }
-}
\ No newline at end of file
+
+    /**
+     * Break several goals down into tasks with as few AI requests as possible
+     * Uncached goals are packed into prompts of up to BATCH_SIZE goals, and the answer is split
+     * back up per goal by its goal number
+     * Each goal succeeds or fails on its own: a goal missing from a batch answer, or in a batch
+     * whose request failed, is retried with a request of its own, and only fails if that fails too
+     *
+     * @param goals : the goals to break down
+     * @param timeout : how long to wait for each AI request
+     * @return a future completing with one breakdown per goal, in the same order as the goals; it never
+     *         completes exceptionally, failures are reported per goal
+     */
+    public static CompletableFuture<List<GoalBreakdown>> getTasksAIBatchAsync(List<GoalBreakdown.Request> goals, Duration timeout)
+    {
+        AIProvider aiProvider = getProvider();
+        GoalBreakdown[] breakdowns = new GoalBreakdown[goals.size()];
+        List<Integer> pending = new ArrayList<Integer>();
+
+        for (int i = 0; i < goals.size(); i++)
+        {
+            GoalBreakdown.Request request = goals.get(i);
+            String goal = request.getGoal();
+            LocalDate dueDate = request.getDueDate();
+
+            //do not process request if goal has no name or due date
+            if (goal == null || goal.trim().isEmpty() || dueDate == null)
+            {
+                breakdowns[i] = new GoalBreakdown(goal, dueDate, null,
+                        new IllegalArgumentException("Goal name and due date are required"));
+                continue;
+            }
+
+            //answer from the cache if the same goal and horizon were broken down before
+            List<Task> cachedTasks = aiProvider.isLocal() ? null : AITaskCache.getInstance().get(goal, dueDate);
+            if (cachedTasks != null)
+            {
+                breakdowns[i] = new GoalBreakdown(goal, dueDate, cachedTasks, null);
+            }
+            else
+            {
+                pending.add(i);
+            }
+        }
+
+        //send the remaining goals in batches, which run in parallel within the shared client's limit
+        List<CompletableFuture<Void>> batches = new ArrayList<CompletableFuture<Void>>();
+        for (int start = 0; start < pending.size(); start += BATCH_SIZE)
+        {
+            List<Integer> batch = pending.subList(start, Math.min(start + BATCH_SIZE, pending.size()));
+            batches.add(requestBatchAsync(aiProvider, goals, batch, breakdowns, timeout));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> Arrays.asList(breakdowns));
+    }
+
+    /**
+     * Send one batch of goals and fill in their breakdowns
+     *
+     * @param aiProvider : the provider to ask
+     * @param goals : all goals of the batch call
+     * @param batch : the indexes of the goals in this batch
+     * @param breakdowns : the breakdowns to fill in, by goal index
+     * @param timeout : how long to wait for each AI request
+     * @return a future completing once every goal of the batch has a breakdown
+     */
+    private static CompletableFuture<Void> requestBatchAsync(AIProvider aiProvider, List<GoalBreakdown.Request> goals,
+                                                             List<Integer> batch, GoalBreakdown[] breakdowns, Duration timeout)
+    {
+        CompletableFuture<List<List<Task>>> answer;
+        if (batch.size() == 1)
+        {
+            //a single goal is simply requested on its own
+            answer = CompletableFuture.completedFuture(new ArrayList<List<Task>>());
+        }
+        else
+        {
+            List<GoalBreakdown.Request> batchGoals = new ArrayList<GoalBreakdown.Request>();
+            for (int index : batch)
+            {
+                batchGoals.add(goals.get(index));
+            }
+            answer = aiProvider.generateTasksBatch(batchGoals, timeout)
+                    .exceptionally(error -> new ArrayList<List<Task>>()); //retried per goal below
+        }
+
+        return answer.thenCompose(tasksByGoal -> {
+            List<CompletableFuture<Void>> retries = new ArrayList<CompletableFuture<Void>>();
+            for (int n = 0; n < batch.size(); n++)
+            {
+                int index = batch.get(n);
+                String goal = goals.get(index).getGoal();
+                LocalDate dueDate = goals.get(index).getDueDate();
+                List<Task> tasks = (n < tasksByGoal.size()) ? tasksByGoal.get(n) : null;
+
+                if (tasks != null && !tasks.isEmpty())
+                {
+                    if (!aiProvider.isLocal() && !ResilientAIProvider.isFallback(tasks))
+                    {
+                        AITaskCache.getInstance().put(goal, dueDate, tasks);
+                    }
+                    breakdowns[index] = new GoalBreakdown(goal, dueDate, tasks, null);
+                    continue;
+                }
+
+                //isolate this goal: ask for it on its own
+                retries.add(aiProvider.generateTasks(goal, dueDate, timeout, null).handle((singleTasks, error) -> {
+                    if (error == null && singleTasks != null && !singleTasks.isEmpty())
+                    {
+                        if (!aiProvider.isLocal() && !ResilientAIProvider.isFallback(singleTasks))
+                        {
+                            AITaskCache.getInstance().put(goal, dueDate, singleTasks);
+                        }
+                        breakdowns[index] = new GoalBreakdown(goal, dueDate, singleTasks, null);
+                    }
+                    else
+                    {
+                        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                        breakdowns[index] = new GoalBreakdown(goal, dueDate, null,
+                                (cause != null) ? cause : new IllegalStateException("AI Assistant did not generate any tasks"));
+                    }
+                    return null;
+                }));
+            }
+            return CompletableFuture.allOf(retries.toArray(new CompletableFuture<?>[0]));
+        });
+    }
+}
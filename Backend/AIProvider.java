@@ -0,0 +1,69 @@
+package Backend;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * <h1>AIProvider Interface</h1>
+ * The AIProvider interface is a backend that breaks goals down into tasks. AIAssistant
+ * sends every request through the selected provider and adds caching and batching on top.
+ *
+ * <p>Usage:
+ * OpenAIProvider asks the OpenAI chat completions API, and LocalTaskProvider builds the
+ * tasks from templates without any network access. AIAssistant picks the provider named
+ * by the AI_PROVIDER property ("openai" or "local"), or the one set with
+ * AIAssistant.setProvider.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public interface AIProvider {
+
+    /**
+     * Getter for the name of the provider.
+     *
+     * @return The name used to select the provider, e.g. "openai".
+     */
+    String getName();
+
+    /**
+     * Checks whether the provider answers without a remote service. Local answers are
+     * instant and deterministic, so they are not cached.
+     *
+     * @return True if the provider runs locally.
+     */
+    default boolean isLocal() {
+        return false;
+    }
+
+    /**
+     * Breaks a goal down into tasks. Cancelling the returned future aborts the request.
+     *
+     * @param goal         The name of the goal, which is not empty.
+     * @param dueDate      The due date of the goal.
+     * @param timeout      How long to wait before failing with a TimeoutException.
+     * @param taskListener Receives each task as soon as it is available, or null.
+     * @return A future completing with the tasks.
+     */
+    CompletableFuture<List<Task>> generateTasks(String goal, LocalDate dueDate, Duration timeout,
+                                                Consumer<Task> taskListener);
+
+    /**
+     * Breaks several goals down into tasks with one request. Providers that cannot do so
+     * leave this unimplemented, and each goal is then requested on its own.
+     *
+     * @param goals   The goals to break down.
+     * @param timeout How long to wait before failing with a TimeoutException.
+     * @return A future completing with the tasks of each goal, in the same order as the
+     *         goals; a goal the answer did not cover has an empty list.
+     */
+    default CompletableFuture<List<List<Task>>> generateTasksBatch(List<GoalBreakdown.Request> goals, Duration timeout) {
+        return CompletableFuture.failedFuture(
+                new UnsupportedOperationException(getName() + " does not support batch requests"));
+    }
+}
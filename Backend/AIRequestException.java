@@ -0,0 +1,97 @@
+package Backend;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * <h1>AIRequestException Class</h1>
+ * The AIRequestException class reports an AI request that the server answered with an
+ * error status, together with how long the server asked the client to wait before trying
+ * again, if it said so.
+ *
+ * <p>Usage:
+ * OpenAIProvider completes its futures with this exception for any status other than 200.
+ * ResilientAIProvider uses the status to decide whether to retry (429, 408 and 5xx) and
+ * waits at least the Retry-After delay before the next attempt.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public class AIRequestException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    /**
+     * Constructor for the AIRequestException class.
+     *
+     * @param statusCode The HTTP status of the response.
+     * @param retryAfter How long the server asked to wait before retrying, or null.
+     */
+    public AIRequestException(int statusCode, Duration retryAfter) {
+        super("AI request failed with HTTP status " + statusCode);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Getter for the status code.
+     *
+     * @return The HTTP status of the response.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Getter for the Retry-After delay.
+     *
+     * @return How long the server asked to wait before retrying, or null if it did not say.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Checks whether the status reports a temporary problem worth retrying: rate limiting,
+     * a request timeout, or a server error.
+     *
+     * @return True if the request may succeed when sent again.
+     */
+    public boolean isTransient() {
+        return statusCode == 429 || statusCode == 408 || statusCode >= 500;
+    }
+
+    /**
+     * Parses the value of a Retry-After header, which is either a number of seconds or an
+     * HTTP date.
+     *
+     * @param value The header value, or null.
+     * @return The delay it asks for (zero for a date in the past), or null if it is missing or invalid.
+     */
+    public static Duration parseRetryAfter(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            // Not a number of seconds, so it should be a date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package Backend;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <h1>AITaskCache Class</h1>
+ * The AITaskCache class remembers the tasks the AI generated for a goal, so asking again
+ * for the same goal and time horizon returns immediately without an API call.
+ *
+ * <p>Usage:
+ * Entries are keyed by the normalised goal text (case, spacing and commas ignored) and the
+ * number of days until the due date. The cache keeps the most recently used entries in
+ * memory and mirrors them to a file under UserData, so they survive a restart. Entries
+ * older than the time-to-live are ignored, and the least recently used entries are
+ * dropped once the size limit is reached. Tasks are copied in and out, so callers may
+ * modify the lists they receive.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+class AITaskCache {
+
+    static final String CACHE_FILE = "UserData/aiTaskCache.csv";
+    private static final int DEFAULT_MAX_ENTRIES = 200;
+    private static final Duration DEFAULT_TTL = Duration.ofDays(30);
+
+    private static AITaskCache instance;
+
+    private final String filePath;
+    private final int maxEntries;
+    private final long ttlMillis;
+    // Access-ordered, so iteration starts with the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean loaded = false;
+
+    /**
+     * Constructor for the AITaskCache class.
+     *
+     * @param filePath   The file the cache is stored in.
+     * @param maxEntries The maximum number of cached goal breakdowns.
+     * @param ttl        How long a cached breakdown stays valid.
+     */
+    AITaskCache(String filePath, int maxEntries, Duration ttl) {
+        this.filePath = filePath;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Returns the cache shared by all AI requests.
+     *
+     * @return The shared cache.
+     */
+    static synchronized AITaskCache getInstance() {
+        if (instance == null) {
+            instance = new AITaskCache(CACHE_FILE, DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the cache shared by all AI requests, so tests can keep their entries out of
+     * the user's cache file.
+     *
+     * @param cache The cache to share, or null to create the default one on next use.
+     * @return The cache shared until now, or null if none was created yet.
+     */
+    static synchronized AITaskCache setInstance(AITaskCache cache) {
+        AITaskCache previous = instance;
+        instance = cache;
+        return previous;
+    }
+
+    /**
+     * Builds the cache key for a goal and due date.
+     *
+     * @param goal    The goal text as entered by the user.
+     * @param dueDate The due date of the goal.
+     * @return The normalised goal text and the days until the due date.
+     */
+    static String key(String goal, LocalDate dueDate) {
+        String normalisedGoal = goal.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s,]+", " ");
+        long daysUntilDue = ChronoUnit.DAYS.between(LocalDate.now(), dueDate);
+        return normalisedGoal + "|" + daysUntilDue;
+    }
+
+    /**
+     * Looks up the cached tasks for a goal.
+     *
+     * @param goal    The goal text.
+     * @param dueDate The due date of the goal.
+     * @return Copies of the cached tasks, or null if nothing valid is cached.
+     */
+    synchronized List<Task> get(String goal, LocalDate dueDate) {
+        load();
+        String key = key(goal, dueDate);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry)) {
+            entries.remove(key);
+            return null;
+        }
+        return copy(entry.tasks);
+    }
+
+    /**
+     * Stores the tasks generated for a goal. Empty results are not cached.
+     *
+     * @param goal    The goal text.
+     * @param dueDate The due date of the goal.
+     * @param tasks   The generated tasks.
+     */
+    synchronized void put(String goal, LocalDate dueDate, List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+        load();
+        entries.put(key(goal, dueDate), new Entry(System.currentTimeMillis(), copy(tasks)));
+        evict();
+        save();
+    }
+
+    /**
+     * Checks whether an entry is older than the time-to-live.
+     *
+     * @param entry The entry to check.
+     * @return True if the entry expired.
+     */
+    private boolean isExpired(Entry entry) {
+        return System.currentTimeMillis() - entry.createdAt > ttlMillis;
+    }
+
+    /**
+     * Drops expired entries, then the least recently used ones until the size limit is met.
+     */
+    private void evict() {
+        entries.values().removeIf(this::isExpired);
+        Iterator<String> leastRecentlyUsed = entries.keySet().iterator();
+        while (entries.size() > maxEntries && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    /**
+     * Reads the cache file into memory on first use. Each line holds one task:
+     * key,createdAt,taskName,hours,minutes. Lines are stored from least to most recently used.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!new File(filePath).exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length != 5) {
+                    continue;
+                }
+                try {
+                    long createdAt = Long.parseLong(columns[1]);
+                    Task task = new Task(columns[2], Integer.parseInt(columns[3]), Integer.parseInt(columns[4]));
+                    entries.computeIfAbsent(columns[0], k -> new Entry(createdAt, new ArrayList<>())).tasks.add(task);
+                } catch (NumberFormatException e) {
+                    // Malformed line, skip it
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        evict();
+    }
+
+    /**
+     * Writes the cache to a temporary file and swaps it in, so a crash never leaves a
+     * half-written cache behind.
+     */
+    private void save() {
+        String tempFile = filePath + ".tmp";
+        CsvEditor.ensureDirectoryExists(filePath);
+        try {
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    for (Task task : entry.getValue().tasks) {
+                        writer.write(entry.getKey() + "," + entry.getValue().createdAt + ","
+                                + task.getTaskName().replace(",", " ") + ","
+                                + task.getTimeToCompleteHours() + "," + task.getTimeToCompleteMinutes());
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(Paths.get(tempFile), Paths.get(filePath),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Copies a list of tasks, keeping only the fields the AI generates.
+     *
+     * @param tasks The tasks to copy.
+     * @return New Task objects with the same names and estimated times.
+     */
+    private static List<Task> copy(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(new Task(task.getTaskName(), task.getTimeToCompleteHours(), task.getTimeToCompleteMinutes()));
+        }
+        return copies;
+    }
+
+    /**
+     * A cached goal breakdown and the time it was generated.
+     */
+    private static class Entry {
+        final long createdAt;
+        final List<Task> tasks;
+
+        Entry(long createdAt, List<Task> tasks) {
+            this.createdAt = createdAt;
+            this.tasks = tasks;
+        }
+    }
+}
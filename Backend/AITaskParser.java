@@ -0,0 +1,338 @@
+package Backend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <h1>AITaskParser Class</h1>
+ * The AITaskParser class turns the CSV task list written by the AI into Task objects. It is
+ * tolerant of the ways a model strays from the requested format, so fewer answers have to
+ * be thrown away and generated again.
+ *
+ * <p>Usage:
+ * Call parse for a whole answer, or create a parser and feed it one line at a time with
+ * parseLine while the answer streams in. Each line is read in a single pass, without
+ * splitting or regular expressions. A line is "task name, hours, minutes", where:
+ * the name may be quoted (with "" for a quote) and may contain commas; list markers and
+ * numbering such as "1." or "-" are dropped; times may carry units such as "2h", "1.5 hours"
+ * or "30 min", and a single time with a unit is accepted on its own; minutes of 60 or more
+ * carry over into hours. The first line is skipped if it is a header, but may also be a
+ * task. Blank lines and code fences are ignored, and every other line that is not a task is
+ * kept in getRejectedLines.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public final class AITaskParser {
+
+    private static final int MAX_FIELDS = 16;
+    private static final int MAX_NAME_LENGTH = 100;
+
+    // A parsed duration packs the amount, in hundredths of its unit, with flags for an explicit unit and for hours
+    private static final long UNIT_FLAG = 1L << 40;
+    private static final long HOURS_FLAG = 1L << 41;
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<String> rejectedLines = new ArrayList<>();
+    private boolean seenContent = false;
+
+    /**
+     * Parses a whole answer.
+     *
+     * @param text The answer.
+     * @return The parser, holding the tasks and the rejected lines.
+     */
+    public static AITaskParser parse(CharSequence text) {
+        AITaskParser parser = new AITaskParser();
+        int lineStart = 0;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || text.charAt(i) == '\n') {
+                parser.parseLine(text, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        return parser;
+    }
+
+    /**
+     * Parses the next line of an answer.
+     *
+     * @param line The line, without its line break.
+     * @return The task, or null if the line is not a task.
+     */
+    public Task parseLine(CharSequence line) {
+        return parseLine(line, 0, line.length());
+    }
+
+    /**
+     * Parses the next line of an answer, given as a range of a larger text.
+     *
+     * @param text  The text containing the line.
+     * @param start The index of the first character of the line.
+     * @param end   The index after the last character of the line.
+     * @return The task, or null if the line is not a task.
+     */
+    public Task parseLine(CharSequence text, int start, int end) {
+        start = skipWhitespace(text, start, end);
+        end = trimEnd(text, start, end);
+        if (start == end || startsWith(text, start, end, "```")) {
+            return null; // Blank lines and code fences carry no tasks
+        }
+
+        boolean firstLine = !seenContent;
+        seenContent = true;
+        Task task = parseTask(text, start, end);
+        if (task != null) {
+            tasks.add(task);
+        } else if (!firstLine) {
+            rejectedLines.add(text.subSequence(start, end).toString()); // The first line may be a header
+        }
+        return task;
+    }
+
+    /**
+     * Getter for the tasks.
+     *
+     * @return The tasks parsed so far, in order.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Getter for the rejected lines.
+     *
+     * @return The lines that were not blank, a header or a task.
+     */
+    public List<String> getRejectedLines() {
+        return Collections.unmodifiableList(rejectedLines);
+    }
+
+    /**
+     * Parses one line as a task, without keeping any state.
+     *
+     * @param text  The text containing the line.
+     * @param start The index of the first character of the line.
+     * @param end   The index after the last character of the line.
+     * @return The task, or null if the line is not a task.
+     */
+    public static Task parseTask(CharSequence text, int start, int end) {
+        start = skipListMarker(text, skipWhitespace(text, start, end), end);
+        end = trimEnd(text, start, end);
+
+        // Find the fields: start and end of each, outside quotes
+        int[] fieldStarts = new int[MAX_FIELDS];
+        int[] fieldEnds = new int[MAX_FIELDS];
+        int fieldCount = 0;
+        int fieldStart = start;
+        boolean quoted = false;
+        for (int i = start; i <= end; i++) {
+            char c = (i < end) ? text.charAt(i) : ',';
+            if (c == '"') {
+                quoted = !quoted; // A doubled quote toggles twice, staying inside the field
+            } else if (c == ',' && (!quoted || i == end)) {
+                if (fieldCount == MAX_FIELDS) {
+                    return null;
+                }
+                fieldStarts[fieldCount] = fieldStart;
+                fieldEnds[fieldCount++] = i;
+                fieldStart = i + 1;
+            }
+        }
+        if (fieldCount < 2) {
+            return null;
+        }
+
+        // The times are the last one or two fields, the name is everything before them
+        int totalMinutes;
+        int nameFields;
+        long last = parseDuration(text, fieldStarts[fieldCount - 1], fieldEnds[fieldCount - 1], false);
+        long secondLast = (fieldCount >= 3)
+                ? parseDuration(text, fieldStarts[fieldCount - 2], fieldEnds[fieldCount - 2], true) : -1;
+        if (last >= 0 && secondLast >= 0) {
+            totalMinutes = (int) Math.min(Integer.MAX_VALUE, unitMinutes(secondLast) + unitMinutes(last));
+            nameFields = fieldCount - 2;
+        } else if (last >= 0 && hasUnit(last)) {
+            totalMinutes = (int) Math.min(Integer.MAX_VALUE, unitMinutes(last));
+            nameFields = fieldCount - 1;
+        } else {
+            return null;
+        }
+
+        String name = readName(text, fieldStarts, fieldEnds, nameFields);
+        if (name.isEmpty()) {
+            return null;
+        }
+        return new Task(name, totalMinutes / 60, totalMinutes % 60);
+    }
+
+    /**
+     * Parses a time field: a whole or decimal number, optionally followed by a unit.
+     *
+     * @param text         The text containing the field.
+     * @param start        The start of the field.
+     * @param end          The end of the field.
+     * @param hoursDefault True if a number without unit counts in hours.
+     * @return The amount in hundredths of the unit, with UNIT_FLAG and HOURS_FLAG set as
+     *         written or defaulted, or -1 if the field is not a time.
+     */
+    private static long parseDuration(CharSequence text, int start, int end, boolean hoursDefault) {
+        start = skipWhitespace(text, start, end);
+        end = trimEnd(text, start, end);
+
+        long hundredths = 0;
+        int digits = 0;
+        int decimals = -1;
+        int i = start;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (decimals >= 2) {
+                    continue; // Finer than hundredths does not matter
+                }
+                hundredths = hundredths * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+                if (hundredths > 1_000_000_000L) {
+                    return -1;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return -1;
+        }
+        for (int d = Math.max(decimals, 0); d < 2; d++) {
+            hundredths *= 10;
+        }
+
+        // The rest must be a unit, or nothing
+        i = skipWhitespace(text, i, end);
+        if (i == end) {
+            return hundredths | (hoursDefault ? HOURS_FLAG : 0);
+        }
+        String unit = text.subSequence(i, end).toString().toLowerCase(Locale.ROOT);
+        switch (unit) {
+            case "h": case "hr": case "hrs": case "hour": case "hours":
+                return hundredths | UNIT_FLAG | HOURS_FLAG;
+            case "m": case "min": case "mins": case "minute": case "minutes":
+                return hundredths | UNIT_FLAG;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Checks whether a parsed duration had an explicit unit.
+     */
+    private static boolean hasUnit(long duration) {
+        return (duration & UNIT_FLAG) != 0;
+    }
+
+    /**
+     * Converts a parsed duration to whole minutes, rounding to the nearest minute.
+     *
+     * @param duration The parsed duration.
+     * @return The duration in minutes.
+     */
+    private static long unitMinutes(long duration) {
+        long hundredths = duration & (UNIT_FLAG - 1);
+        long perUnit = ((duration & HOURS_FLAG) != 0) ? 60 : 1;
+        return (hundredths * perUnit + 50) / 100;
+    }
+
+    /**
+     * Reads the task name from its fields, removing quotes and joining fields that were
+     * split by commas. Commas are left out, since they separate the columns of the data files.
+     *
+     * @return The name, at most MAX_NAME_LENGTH characters.
+     */
+    private static String readName(CharSequence text, int[] fieldStarts, int[] fieldEnds, int fieldCount) {
+        StringBuilder name = new StringBuilder();
+        for (int f = 0; f < fieldCount; f++) {
+            int start = skipWhitespace(text, fieldStarts[f], fieldEnds[f]);
+            int end = trimEnd(text, start, fieldEnds[f]);
+            if (start == end) {
+                continue;
+            }
+            if (name.length() > 0) {
+                name.append(' ');
+            }
+            if (text.charAt(start) == '"' && end - start >= 2 && text.charAt(end - 1) == '"') {
+                for (int i = start + 1; i < end - 1; i++) {
+                    char c = text.charAt(i);
+                    if (c == '"' && i + 1 < end - 1 && text.charAt(i + 1) == '"') {
+                        i++; // "" stands for one quote
+                    }
+                    if (c != ',') {
+                        name.append(c);
+                    }
+                }
+            } else {
+                name.append(text, start, end);
+            }
+        }
+        String result = name.toString().trim();
+        return (result.length() > MAX_NAME_LENGTH) ? result.substring(0, MAX_NAME_LENGTH).trim() : result;
+    }
+
+    /**
+     * Skips a leading list marker ("-", "*", "\u2022") or numbering ("1.", "2)") and the space after it.
+     *
+     * @return The index after the marker, or start if there is none.
+     */
+    private static int skipListMarker(CharSequence text, int start, int end) {
+        int i = start;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '*' || text.charAt(i) == '\u2022')) {
+            i++;
+        } else {
+            while (i < end && Character.isDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == start || i == end || (text.charAt(i) != '.' && text.charAt(i) != ')')) {
+                return start;
+            }
+            i++;
+        }
+        if (i < end && !Character.isWhitespace(text.charAt(i))) {
+            return start; // E.g. "-5" or "3.5" is not a marker
+        }
+        return skipWhitespace(text, i, end);
+    }
+
+    private static int skipWhitespace(CharSequence text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(CharSequence text, int start, int end) {
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean startsWith(CharSequence text, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
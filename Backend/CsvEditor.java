@@ -10,7 +10,8 @@ package Backend;
  * <p>Usage:
  * Methods include functionality to log time to tasks, write user data,
  * and retrieve usernames, among other features, while handling potential
- * file I/O issues.</p>
+ * file I/O issues. Reads are answered from the shared CsvRepository, and
+ * every write is applied to both the file and the repository.</p>
  *
  * @author Max Henson
  * @version 2.0
@@ -23,16 +24,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.HashSet;
-import java.util.Set;
 
 public class CsvEditor {
 
     // Constants representing the file paths for storing user, goal, task, and time data
-    private static final String USERS_FILE = "UserData/users.csv";
-    private static final String GOALS_FILE = "UserData/goals.csv";
-    private static final String TASKS_FILE = "UserData/tasks.csv";
-    private static final String TIME_FILE = "UserData/loggedTime.csv";
+    static final String USERS_FILE = "UserData/users.csv";
+    static final String GOALS_FILE = "UserData/goals.csv";
+    static final String TASKS_FILE = "UserData/tasks.csv";
+    static final String TIME_FILE = "UserData/loggedTime.csv";
+    static final String TASKS_HEADER = "username,goalName,taskName,timeToCompleteHours,timeToCompleteMinutes,loggedTimeHours,loggedTimeMinutes,isComplete";
 
     /**
      * Ensures that the directory for a given file path exists.
@@ -54,8 +54,10 @@ public class CsvEditor {
     }
 
     /**
-     * Logs time for a specific task by updating the task's time in the tasks CSV file
-     * and appending a record of the time log in the time CSV file.
+     * Logs time for a specific task by appending the task's new state to the task
+     * journal and a record of the time log to the time CSV file. The tasks CSV file
+     * itself is rewritten later by a background compaction, so the cost of logging
+     * does not depend on the size of the tasks file.
      *
      * @param username the username associated with the task
      * @param goalName the name of the goal containing the task
@@ -64,54 +66,19 @@ public class CsvEditor {
      * @param minutes  the number of minutes to log
      */
     public static void logTimeToTask(String username, String goalName, String taskName, int hours, int minutes) {
-        // List to store updated lines for rewriting the tasks CSV file
-        List<String> updatedLines = new ArrayList<>();
-        boolean taskFound = false;
+        CsvRepository repository = CsvRepository.getInstance();
 
-        // Ensure the tasks file directory exists
-        ensureDirectoryExists(TASKS_FILE);
-
-        // Read the tasks file and update the time for the specified task
-        try (BufferedReader reader = new BufferedReader(new FileReader(TASKS_FILE))) {
-            // Read and store the header line
-            String header = reader.readLine();
-            updatedLines.add(header);
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // Split the line into columns
-                String[] columns = line.split(",");
-                if (columns[0].equals(username) && columns[1].equals(goalName) && columns[2].equals(taskName)) {
-                    // Parse the task, update its logged time, and add the updated row
-                    Task task = Task.fromCsvRow(columns);
-                    task.logTime(hours, minutes);
-                    updatedLines.add(task.toCsvRow(username, goalName));
-                    taskFound = true;
-                } else {
-                    // Add the unmodified line to the updated lines
-                    updatedLines.add(line);
-                }
-            }
-        } catch (IOException e) {
-            // Handle any file I/O errors
-            e.printStackTrace();
-        }
+        // Update the task in the indexed rows
+        List<String> updatedRows = repository.logTimeToTask(username, goalName, taskName, hours, minutes);
 
         // If the task was not found, print a message and return
-        if (!taskFound) {
+        if (updatedRows.isEmpty()) {
             System.out.printf("Task '%s' under goal '%s' for user '%s' not found.\n", taskName, goalName, username);
             return;
         }
 
-        // Write the updated lines back to the tasks file
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(TASKS_FILE))) {
-            for (String updatedLine : updatedLines) {
-                writer.write(updatedLine);
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // Record the new task state in the journal
+        TaskJournal.append(updatedRows);
 
         // Log the time entry in the time CSV file
         try (BufferedWriter timeWriter = new BufferedWriter(new FileWriter(TIME_FILE, true))) {
@@ -130,6 +97,7 @@ public class CsvEditor {
             // Write the log entry to the file
             timeWriter.write(logEntry);
             timeWriter.newLine();
+            repository.addLogRow(logEntry);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -150,8 +118,10 @@ public class CsvEditor {
 
         // Append the user data to the users file
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(USERS_FILE, true))) {
-            writer.write(username + "," + password);
+            String userRow = username + "," + password;
+            writer.write(userRow);
             writer.newLine();
+            CsvRepository.getInstance().addUserRow(userRow);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -163,21 +133,21 @@ public class CsvEditor {
      * @param users List of User objects whose tasks will be written to the file.
      */
     public static void writeTasks(List<User> users) {
-        ensureDirectoryExists(TASKS_FILE);
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(TASKS_FILE))) {
-            // Write header line
-            writer.write("username,goalName,taskName,timeToCompleteHours,timeToCompleteMinutes,loggedTimeHours,loggedTimeMinutes,isComplete\n");
-            // Iterate through users and write their tasks
-            for (User user : users) {
-                for (Goal goal : user.getGoals()) {
-                    for (Task task : goal.getTasks()) {
-                        writer.write(task.toCsvRow(user.getUsername(), goal.getGoalName()));
-                        writer.newLine();
-                    }
+        // Iterate through users and collect their tasks
+        List<String> taskLines = new ArrayList<>();
+        for (User user : users) {
+            for (Goal goal : user.getGoals()) {
+                for (Task task : goal.getTasks()) {
+                    taskLines.add(task.toCsvRow(user.getUsername(), goal.getGoalName()));
                 }
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+        }
+
+        // The new file replaces the old rows and every pending journal entry
+        CsvRepository repository = CsvRepository.getInstance();
+        synchronized (TaskJournal.LOCK) {
+            repository.replaceTaskRows(taskLines);
+            TaskJournal.writeSnapshot(taskLines);
         }
     }
 
@@ -192,72 +162,109 @@ public class CsvEditor {
     public static void writeGoalAndTasks(String username, Goal goal, String dueDate, String startDate) {
         ensureDirectoryExists(GOALS_FILE);
         ensureDirectoryExists(TASKS_FILE);
-        try (BufferedWriter goalWriter = new BufferedWriter(new FileWriter(GOALS_FILE, true));
-             BufferedWriter taskWriter = new BufferedWriter(new FileWriter(TASKS_FILE, true))) {
+        CsvRepository repository = CsvRepository.getInstance();
+
+        // Appending to tasks.csv must not race with a compaction rewriting it
+        synchronized (TaskJournal.LOCK) {
+            try (BufferedWriter goalWriter = new BufferedWriter(new FileWriter(GOALS_FILE, true));
+                 BufferedWriter taskWriter = new BufferedWriter(new FileWriter(TASKS_FILE, true))) {
+
+                // Write the goal to goals.csv
+                String goalRow = username + "," + goal.getGoalName() + "," + dueDate + "," + startDate;
+                goalWriter.write(goalRow + "\n");
+                repository.addGoalRow(goalRow);
+
+                // Write tasks to tasks.csv
+                for (Task task : goal.getTasks()) {
+                    String taskRow = task.toCsvRow(username, goal.getGoalName());
+                    taskWriter.write(taskRow);
+                    taskWriter.newLine();
+                    repository.addTaskRow(taskRow);
+                }
 
-            // Write the goal to goals.csv
-            goalWriter.write(username + "," + goal.getGoalName() + "," + dueDate + "," + startDate + "\n");
+                System.out.printf("Goal '%s' with due date '%s', start date '%s', and its tasks have been added for user '%s'.\n",
+                        goal.getGoalName(), dueDate, startDate, username);
 
-            // Write tasks to tasks.csv
-            for (Task task : goal.getTasks()) {
-                taskWriter.write(task.toCsvRow(username, goal.getGoalName()));
-                taskWriter.newLine();
+            } catch (IOException e) {
+                e.printStackTrace();
             }
+        }
+    }
+
+    /**
+     * Folds all pending task journal entries into a fresh tasks CSV file right away,
+     * instead of waiting for the background compaction.
+     */
+    public static void compactTasks() {
+        TaskJournal.compact();
+    }
 
-            System.out.printf("Goal '%s' with due date '%s', start date '%s', and its tasks have been added for user '%s'.\n",
-                    goal.getGoalName(), dueDate, startDate, username);
+    /**
+     * Reads a user together with all of their goals and tasks in one batch. Every goal
+     * and task is built from the already-indexed rows, so the cost does not grow with
+     * the size of the data files.
+     *
+     * @param username The username of the user.
+     * @return The fully loaded User.
+     */
+    public static User readUser(String username) {
+        return new User(username, CsvRepository.getInstance());
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Reads the write version of a goal's data. The version changes whenever the goal,
+     * one of its tasks or its logged time is written, so callers can cache anything
+     * derived from the goal and reuse it while the version stays the same.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return The current write version of the goal.
+     */
+    public static long readGoalVersion(String username, String goalName) {
+        return CsvRepository.getInstance().version(username, goalName);
+    }
+
+    /**
+     * Checks whether a username is already taken, using the in-memory credential index.
+     *
+     * @param username The username to check.
+     * @return True if a user with this username exists.
+     */
+    public static boolean usernameExists(String username) {
+        return CsvRepository.getInstance().hasUser(username);
+    }
+
+    /**
+     * Checks a username and password against the stored credentials, using the in-memory
+     * credential index instead of scanning the users CSV file.
+     *
+     * @param username The username entered by the user.
+     * @param password The password entered by the user.
+     * @return True if the user exists and the password matches.
+     */
+    public static boolean matchCredentials(String username, String password) {
+        String storedPassword = CsvRepository.getInstance().password(username);
+        return storedPassword != null && storedPassword.trim().equals(password);
     }
 
     /**
      * Reads all usernames from the users CSV file.
+     * Served from the in-memory index, the file is only read once per process.
      *
      * @return A list of usernames.
      */
     public static List<String> readUsernames() {
-        ensureDirectoryExists(USERS_FILE);
-        List<String> usernames = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(USERS_FILE))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length == 2) {
-                    usernames.add(columns[0]); // Add username to the list
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return usernames;
+        return CsvRepository.getInstance().usernames();
     }
 
     /**
      * Reads all passwords from the users CSV file.
+     * Served from the in-memory index, the file is only read once per process.
      *
      * @return A list of passwords.
      */
     public static List<String> readPasswords() {
-        ensureDirectoryExists(USERS_FILE);
-        List<String> passwords = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(USERS_FILE))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length == 2) {
-                    passwords.add(columns[1]); // Add password to the list
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return passwords;
+        return CsvRepository.getInstance().passwords();
     }
 
     /**
@@ -267,22 +274,7 @@ public class CsvEditor {
      * @return A list of goal names for the specified user.
      */
     public static List<String> readGoals(String username) {
-        ensureDirectoryExists(GOALS_FILE);
-        List<String> goals = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(GOALS_FILE))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length >= 4 && columns[0].equals(username)) {
-                    goals.add(columns[1]); // Add goal name to the list
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return goals;
+        return CsvRepository.getInstance().goalNames(username);
     }
 
     /**
@@ -293,21 +285,9 @@ public class CsvEditor {
      * @return The due date as a string, or null if not found.
      */
     public static String readGoalDueDate(String username, String goalName) {
-        ensureDirectoryExists(GOALS_FILE);
         System.out.println("Reading Due Date...");
-        try (BufferedReader reader = new BufferedReader(new FileReader(GOALS_FILE))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length >= 4 && columns[0].equals(username) && columns[1].equals(goalName)) {
-                    return columns[2].trim(); // Return due date
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return null;
+        CsvRepository.GoalRecord goal = CsvRepository.getInstance().goal(username, goalName);
+        return (goal != null) ? goal.dueDate : null;
     }
 
 
@@ -319,21 +299,9 @@ public class CsvEditor {
      * @return The start date of the specified goal as a String, or null if the goal or start date is not found.
      */
     public static String readGoalStartDate(String username, String goalName) {
-        ensureDirectoryExists(GOALS_FILE);
         System.out.println("Reading Start Date...");
-        try (BufferedReader reader = new BufferedReader(new FileReader(GOALS_FILE))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length >= 4 && columns[0].equals(username) && columns[1].equals(goalName)) {
-                    return columns[3].trim(); // Return the start date
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return null; // Return null if no start date is found
+        CsvRepository.GoalRecord goal = CsvRepository.getInstance().goal(username, goalName);
+        return (goal != null) ? goal.startDate : null; // Return null if no start date is found
     }
 
     /**
@@ -344,24 +312,6 @@ public class CsvEditor {
      * @return A list of Task objects.
      */
     public static List<Task> readTasks(String username, String goalName) {
-        ensureDirectoryExists(TASKS_FILE);
-        List<Task> tasks = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(TASKS_FILE))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length == 8 && columns[0].equals(username) && columns[1].equals(goalName)) {
-                    // Create a Task object from the CSV row
-                    Task task = Task.fromCsvRow(columns);
-                    // Add the task to the list
-                    tasks.add(task);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return tasks;
+        return CsvRepository.getInstance().tasks(username, goalName);
     }
-}
\ No newline at end of file
+}
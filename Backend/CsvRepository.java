@@ -0,0 +1,562 @@
+package Backend;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>CsvRepository Class</h1>
+ * The CsvRepository class is the process-wide, in-memory copy of the UserData CSV files.
+ * The users, goals, tasks and logged time files are each read once, and their rows are
+ * indexed by username and by (username, goalName) so that CsvEditor can answer its reads
+ * without rescanning the files.
+ *
+ * <p>Usage:
+ * The repository is only used through CsvEditor. Reads return data straight from the
+ * indexes, and every CsvEditor write updates the matching rows here as well as on disk
+ * (write-through), so both views always agree.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+class CsvRepository {
+
+    private static CsvRepository instance;
+
+    // users.csv rows in file order, only rows with exactly two columns
+    private final List<String[]> users = new ArrayList<>();
+    // Hash index of the same rows: trimmed username to password, first row wins
+    private final Map<String, String> credentials = new HashMap<>();
+
+    // goals.csv rows indexed by username and by (username, goalName)
+    private final Map<String, List<GoalRecord>> goalsByUser = new HashMap<>();
+    private final Map<String, GoalRecord> goalsByKey = new HashMap<>();
+
+    // tasks.csv rows in file order (needed to rewrite the file) and indexed by (username, goalName)
+    private final List<TaskRecord> tasks = new ArrayList<>();
+    private final Map<String, List<TaskRecord>> tasksByGoal = new HashMap<>();
+
+    // loggedTime.csv rows indexed by (username, goalName)
+    private final Map<String, List<LogRecord>> logsByGoal = new HashMap<>();
+
+    // Write version counter: bumped on every change, and recorded per (username, goalName)
+    private long writeVersion = 0;
+    private long resetVersion = 0; // Version of the last full replacement of the task rows
+    private final Map<String, Long> goalVersions = new HashMap<>();
+
+    /**
+     * Returns the shared repository, loading the CSV files on first use.
+     *
+     * @return The process-wide CsvRepository instance.
+     */
+    static synchronized CsvRepository getInstance() {
+        if (instance == null) {
+            instance = new CsvRepository();
+            instance.load();
+        }
+        return instance;
+    }
+
+    /**
+     * Builds the index key for a goal of a user. A comma can never appear inside a
+     * column, so it is a safe separator.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return The key used by the (username, goalName) indexes.
+     */
+    static String key(String username, String goalName) {
+        return username + "," + goalName;
+    }
+
+    /**
+     * Reads every CSV file once and builds the indexes.
+     */
+    private void load() {
+        for (String line : readLines(CsvEditor.USERS_FILE, true)) {
+            addUserRow(line);
+        }
+        for (String line : readLines(CsvEditor.GOALS_FILE, true)) {
+            addGoalRow(line);
+        }
+        scanTaskRows();
+        // Bring the tasks up to date with changes not yet compacted into tasks.csv
+        TaskJournal.replay(this);
+        scanLogRows();
+    }
+
+    /**
+     * Loads tasks.csv with a CsvScanner.
+     */
+    private void scanTaskRows() {
+        CsvEditor.ensureDirectoryExists(CsvEditor.TASKS_FILE);
+        try {
+            CsvScanner.scan(CsvEditor.TASKS_FILE, true,
+                    row -> addTaskRecord(new TaskRecord(row.line(), row.columns())));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Loads loggedTime.csv with a CsvScanner. Hours and minutes are parsed
+     * straight from the file bytes, and consecutive logs of the same goal share their
+     * username, goal name, key and date Strings.
+     */
+    private void scanLogRows() {
+        CsvEditor.ensureDirectoryExists(CsvEditor.TIME_FILE);
+        String[] lastGoal = new String[3]; // username, goal name, key of the previous log
+        try {
+            // loggedTime.csv has no reliable header, so every line is considered
+            CsvScanner.scan(CsvEditor.TIME_FILE, false, row -> {
+                if (row.columnCount() < 6) {
+                    return;
+                }
+                int hours;
+                int minutes;
+                try {
+                    hours = row.intValue(3);
+                    minutes = row.intValue(4);
+                } catch (NumberFormatException e) {
+                    return; // Header or malformed row, not a time log
+                }
+
+                String username = row.string(0);
+                String goalName = row.string(1);
+                // Unchanged columns come back as the same String instances
+                if (username != lastGoal[0] || goalName != lastGoal[1]) {
+                    lastGoal[0] = username;
+                    lastGoal[1] = goalName;
+                    lastGoal[2] = key(username, goalName);
+                    markChanged(lastGoal[2]);
+                }
+                logsByGoal.computeIfAbsent(lastGoal[2], k -> new ArrayList<>()).add(new LogRecord(row.string(2), hours, minutes, row.string(5).trim()));
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads all lines of a file, optionally skipping the header line.
+     *
+     * @param filePath   The path of the file to read.
+     * @param skipHeader True if the first line is a header.
+     * @return The lines of the file, or an empty list if the file does not exist.
+     */
+    private static List<String> readLines(String filePath, boolean skipHeader) {
+        CsvEditor.ensureDirectoryExists(filePath);
+        List<String> lines = new ArrayList<>();
+        if (!new File(filePath).exists()) {
+            return lines;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            if (skipHeader) {
+                reader.readLine(); // Skip header
+            }
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return lines;
+    }
+
+    // ---- Write-through updates, called by CsvEditor after the file was changed ----
+
+    /**
+     * Adds a users.csv line to the index.
+     *
+     * @param line The raw CSV line.
+     */
+    synchronized void addUserRow(String line) {
+        String[] columns = line.split(",");
+        if (columns.length == 2) {
+            users.add(columns);
+            credentials.putIfAbsent(columns[0].trim(), columns[1]);
+        }
+    }
+
+    /**
+     * Adds a goals.csv line to the indexes.
+     *
+     * @param line The raw CSV line.
+     */
+    synchronized void addGoalRow(String line) {
+        String[] columns = line.split(",");
+        if (columns.length < 4) {
+            return;
+        }
+        GoalRecord goal = new GoalRecord(columns[1], columns[2].trim(), columns[3].trim());
+        goalsByUser.computeIfAbsent(columns[0], k -> new ArrayList<>()).add(goal);
+        // The first row for a goal wins, matching the old linear scan
+        goalsByKey.putIfAbsent(key(columns[0], columns[1]), goal);
+        markChanged(key(columns[0], columns[1]));
+    }
+
+    /**
+     * Adds a tasks.csv line to the file-order list and, if well formed, to the goal index.
+     *
+     * @param line The raw CSV line.
+     */
+    synchronized void addTaskRow(String line) {
+        addTaskRecord(new TaskRecord(line));
+    }
+
+    /**
+     * Adds a parsed tasks.csv row to the file-order list and, if well formed, to the goal index.
+     *
+     * @param task The parsed row.
+     */
+    private void addTaskRecord(TaskRecord task) {
+        tasks.add(task);
+        if (task.columns.length == 8) {
+            tasksByGoal.computeIfAbsent(key(task.columns[0], task.columns[1]), k -> new ArrayList<>()).add(task);
+            markChanged(key(task.columns[0], task.columns[1]));
+        }
+    }
+
+    /**
+     * Adds a loggedTime.csv line to the goal index. Blank, short or header lines are ignored.
+     *
+     * @param line The raw CSV line.
+     */
+    synchronized void addLogRow(String line) {
+        String[] columns = line.split(",");
+        if (columns.length < 6) {
+            return;
+        }
+        try {
+            LogRecord log = new LogRecord(columns[2], Integer.parseInt(columns[3].trim()),
+                    Integer.parseInt(columns[4].trim()), columns[5].trim());
+            logsByGoal.computeIfAbsent(key(columns[0], columns[1]), k -> new ArrayList<>()).add(log);
+            markChanged(key(columns[0], columns[1]));
+        } catch (NumberFormatException e) {
+            // Header or malformed row, not a time log
+        }
+    }
+
+    /**
+     * Replaces every task row after tasks.csv was rewritten from scratch.
+     *
+     * @param lines The data lines now stored in tasks.csv (without header).
+     */
+    synchronized void replaceTaskRows(List<String> lines) {
+        tasks.clear();
+        tasksByGoal.clear();
+        for (String line : lines) {
+            addTaskRow(line);
+        }
+        // Goals whose tasks were removed are changed too
+        resetVersion = ++writeVersion;
+    }
+
+    /**
+     * Records a change to the data of a goal.
+     *
+     * @param key The (username, goalName) key of the goal.
+     */
+    private void markChanged(String key) {
+        goalVersions.put(key, ++writeVersion);
+    }
+
+    // ---- Indexed reads ----
+
+    /**
+     * Returns all usernames.
+     *
+     * @return The usernames, in file order.
+     */
+    synchronized List<String> usernames() {
+        List<String> usernames = new ArrayList<>(users.size());
+        for (String[] user : users) {
+            usernames.add(user[0]);
+        }
+        return usernames;
+    }
+
+    /**
+     * Returns all passwords.
+     *
+     * @return The passwords, in file order.
+     */
+    synchronized List<String> passwords() {
+        List<String> passwords = new ArrayList<>(users.size());
+        for (String[] user : users) {
+            passwords.add(user[1]);
+        }
+        return passwords;
+    }
+
+    /**
+     * Returns the password of a user.
+     *
+     * @param username The username of the user.
+     * @return The password of the first matching user row, or null if the user does not exist.
+     *         Answered from the credential hash index.
+     */
+    synchronized String password(String username) {
+        return credentials.get(username);
+    }
+
+    /**
+     * Checks whether a username is already registered.
+     *
+     * @param username The username to look up.
+     * @return True if a user row exists for the username.
+     */
+    synchronized boolean hasUser(String username) {
+        return credentials.containsKey(username);
+    }
+
+    /**
+     * Returns the goal names of a user.
+     *
+     * @param username The username of the user.
+     * @return The names of the user's goals, in file order.
+     */
+    synchronized List<String> goalNames(String username) {
+        List<GoalRecord> goals = goalsByUser.getOrDefault(username, Collections.emptyList());
+        List<String> goalNames = new ArrayList<>(goals.size());
+        for (GoalRecord goal : goals) {
+            goalNames.add(goal.goalName);
+        }
+        return goalNames;
+    }
+
+    /**
+     * Builds every Goal of a user, with its due date and tasks, from the indexed rows in
+     * one go. Duplicate goal rows are only returned once.
+     *
+     * @param username The username of the user.
+     * @return The user's goals, in file order.
+     */
+    synchronized List<Goal> goals(String username) {
+        List<Goal> goals = new ArrayList<>();
+        for (String goalName : goalVersions(username).keySet()) {
+            goals.add(goalObject(username, goalName));
+        }
+        return goals;
+    }
+
+    /**
+     * Builds a single Goal, with its due date and tasks, from the indexed rows.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return The goal, or null if the goal does not exist.
+     */
+    synchronized Goal goalObject(String username, String goalName) {
+        GoalRecord record = goalsByKey.get(key(username, goalName));
+        if (record == null) {
+            return null;
+        }
+        return new Goal(username, goalName, record.dueDate, tasks(username, goalName));
+    }
+
+    /**
+     * Returns the write version of a goal. The version changes whenever the goal, its
+     * tasks or its time logs change, so callers can tell whether data they loaded earlier
+     * is still current.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return The write version of the goal's data.
+     */
+    synchronized long version(String username, String goalName) {
+        return Math.max(goalVersions.getOrDefault(key(username, goalName), 0L), resetVersion);
+    }
+
+    /**
+     * Returns the write version of every goal of a user.
+     *
+     * @param username The username of the user.
+     * @return The goal names, in file order without duplicates, mapped to their versions.
+     */
+    synchronized Map<String, Long> goalVersions(String username) {
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (GoalRecord record : goalsByUser.getOrDefault(username, Collections.emptyList())) {
+            versions.putIfAbsent(record.goalName, version(username, record.goalName));
+        }
+        return versions;
+    }
+
+    /**
+     * Returns the goals.csv row of a goal.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return The goal row, or null if the goal does not exist.
+     */
+    synchronized GoalRecord goal(String username, String goalName) {
+        return goalsByKey.get(key(username, goalName));
+    }
+
+    /**
+     * Returns the tasks of a goal. New Task objects are created on every call, so callers
+     * may modify them freely.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return Task objects for every task row of the goal.
+     */
+    synchronized List<Task> tasks(String username, String goalName) {
+        List<TaskRecord> records = tasksByGoal.getOrDefault(key(username, goalName), Collections.emptyList());
+        List<Task> goalTasks = new ArrayList<>(records.size());
+        for (TaskRecord record : records) {
+            goalTasks.add(Task.fromCsvRow(record.columns));
+        }
+        return goalTasks;
+    }
+
+    /**
+     * Logs time to every matching task row of a goal and updates the stored lines.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @param taskName The name of the task.
+     * @param hours    The number of hours to log.
+     * @param minutes  The number of minutes to log.
+     * @return The updated CSV rows, or an empty list if the task was not found.
+     */
+    synchronized List<String> logTimeToTask(String username, String goalName, String taskName, int hours, int minutes) {
+        List<String> updatedRows = new ArrayList<>();
+        for (TaskRecord record : tasksByGoal.getOrDefault(key(username, goalName), Collections.emptyList())) {
+            if (record.columns[2].equals(taskName)) {
+                Task task = Task.fromCsvRow(record.columns);
+                task.logTime(hours, minutes);
+                record.update(task.toCsvRow(username, goalName));
+                updatedRows.add(record.line);
+            }
+        }
+        if (!updatedRows.isEmpty()) {
+            markChanged(key(username, goalName));
+        }
+        return updatedRows;
+    }
+
+    /**
+     * Applies a task row from the task journal. The row replaces the stored state of the
+     * task with the same username, goal and task name, or is added if no such task exists.
+     *
+     * @param line The full CSV row of the task.
+     */
+    synchronized void applyTaskRow(String line) {
+        String[] columns = line.split(",");
+        if (columns.length != 8) {
+            return;
+        }
+        boolean taskFound = false;
+        for (TaskRecord record : tasksByGoal.getOrDefault(key(columns[0], columns[1]), Collections.emptyList())) {
+            if (record.columns[2].equals(columns[2])) {
+                record.update(line);
+                taskFound = true;
+            }
+        }
+        if (taskFound) {
+            markChanged(key(columns[0], columns[1]));
+        } else {
+            addTaskRow(line);
+        }
+    }
+
+    /**
+     * Returns the current contents of tasks.csv.
+     *
+     * @return The data lines of tasks.csv (without header), in file order.
+     */
+    synchronized List<String> taskLines() {
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (TaskRecord task : tasks) {
+            lines.add(task.line);
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the time log rows of a goal.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return A copy of the time log rows of the goal.
+     */
+    synchronized List<LogRecord> logs(String username, String goalName) {
+        return new ArrayList<>(logsByGoal.getOrDefault(key(username, goalName), Collections.emptyList()));
+    }
+
+    // ---- Row types ----
+
+    /**
+     * A row of goals.csv.
+     */
+    static class GoalRecord {
+        final String goalName;
+        final String dueDate;
+        final String startDate;
+
+        GoalRecord(String goalName, String dueDate, String startDate) {
+            this.goalName = goalName;
+            this.dueDate = dueDate;
+            this.startDate = startDate;
+        }
+    }
+
+    /**
+     * A row of tasks.csv. The raw line is kept so unparsed rows are written back untouched.
+     */
+    static class TaskRecord {
+        String line;
+        String[] columns;
+
+        TaskRecord(String line) {
+            this(line, line.split(","));
+        }
+
+        TaskRecord(String line, String[] columns) {
+            this.line = line;
+            this.columns = columns;
+        }
+
+        /**
+         * Replaces the contents of this row with an updated line.
+         *
+         * @param line The new CSV line.
+         */
+        void update(String line) {
+            this.line = line;
+            this.columns = line.split(",");
+        }
+    }
+
+    /**
+     * A row of loggedTime.csv. The date is converted to an epoch day once, when the row
+     * is loaded, so statistics can bucket logs with integer arithmetic.
+     */
+    static class LogRecord {
+        final String taskName;
+        final int hours;
+        final int minutes;
+        final String date;
+        final long epochDay;
+
+        LogRecord(String taskName, int hours, int minutes, String date) {
+            this.taskName = taskName;
+            this.hours = hours;
+            this.minutes = minutes;
+            this.date = date;
+            this.epochDay = EpochDays.parse(date);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package Backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <h1>CsvScanner Class</h1>
+ * The CsvScanner class walks the raw bytes of a CSV file row by row, without creating
+ * a String per line or a String[] per row. Columns are located by byte offsets, numbers
+ * are parsed straight from the bytes, and text columns are only decoded when a caller
+ * asks for them.
+ *
+ * <p>Usage:
+ * Call CsvScanner.scan with a RowHandler. The file is read into a heap buffer and closed
+ * before the first row is handled; it is never memory-mapped, because some platforms refuse
+ * to replace or append to a file that is still mapped (tasks.csv is swapped in by the task
+ * journal compaction, and loggedTime.csv is appended to while the program runs).
+ * A text column that has the same bytes as in the previous row returns the previous
+ * row's String, so repeated usernames, goal names and dates cost no new objects.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+final class CsvScanner {
+
+    /**
+     * Receives each row of a scanned file. The Row is reused for the next row, so it
+     * must not be kept after the call returns.
+     */
+    interface RowHandler {
+        void row(Row row);
+    }
+
+    private CsvScanner() {
+    }
+
+    /**
+     * Scans every row of a CSV file.
+     *
+     * @param filePath   The path of the file to scan.
+     * @param skipHeader True if the first line is a header.
+     * @param handler    Called once per row, in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    static void scan(String filePath, boolean skipHeader, RowHandler handler) throws IOException {
+        if (!new File(filePath).exists()) {
+            return;
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("CSV file too large to scan: " + filePath);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            buffer.flip();
+        }
+
+        Row row = new Row(buffer);
+        int limit = buffer.limit();
+        int position = 0;
+        boolean header = skipHeader;
+        while (position < limit) {
+            // Find the end of the line
+            int lineEnd = position;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > position && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (header) {
+                header = false;
+            } else {
+                row.reset(position, lineEnd);
+                handler.row(row);
+            }
+            position = next;
+        }
+    }
+
+    /**
+     * A view of the current row. Column splitting follows String.split(","): trailing
+     * empty columns are not counted.
+     */
+    static final class Row {
+        private static final Charset CHARSET = Charset.defaultCharset(); // Same charset FileReader uses
+
+        private final ByteBuffer buffer;
+        private int lineStart;
+        private int lineEnd;
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int count;
+
+        // Previous row's text per column, reused when the bytes are identical
+        private byte[][] lastBytes = new byte[8][];
+        private String[] lastStrings = new String[8];
+        private byte[] scratch = new byte[256];
+
+        private Row(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Moves the view to a new line and locates its columns.
+         *
+         * @param start The offset of the first byte of the line.
+         * @param end   The offset after the last byte of the line.
+         */
+        private void reset(int start, int end) {
+            lineStart = start;
+            lineEnd = end;
+            count = 0;
+            int columnStart = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || buffer.get(i) == ',') {
+                    if (count == starts.length) {
+                        grow();
+                    }
+                    starts[count] = columnStart;
+                    ends[count] = i;
+                    count++;
+                    columnStart = i + 1;
+                }
+            }
+            // Drop trailing empty columns, like String.split, which keeps an empty line as one column
+            while (count > 0 && end > start && starts[count - 1] == ends[count - 1]) {
+                count--;
+            }
+        }
+
+        /**
+         * Doubles the capacity of the per-column arrays.
+         */
+        private void grow() {
+            int capacity = starts.length * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            lastBytes = Arrays.copyOf(lastBytes, capacity);
+            lastStrings = Arrays.copyOf(lastStrings, capacity);
+        }
+
+        /**
+         * Returns the number of columns in the row.
+         *
+         * @return The column count.
+         */
+        int columnCount() {
+            return count;
+        }
+
+        /**
+         * Returns the text of a column. The previous row's String is returned when the
+         * column's bytes have not changed.
+         *
+         * @param column The column index.
+         * @return The column text.
+         */
+        String string(int column) {
+            int start = starts[column];
+            int length = ends[column] - start;
+            byte[] previous = lastBytes[column];
+            if (previous != null && previous.length == length && sameBytes(previous, start)) {
+                return lastStrings[column];
+            }
+
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+            String text = new String(bytes, CHARSET);
+            lastBytes[column] = bytes;
+            lastStrings[column] = text;
+            return text;
+        }
+
+        /**
+         * Compares a column with previously seen bytes.
+         *
+         * @param previous The bytes to compare with.
+         * @param start    The offset of the column in the buffer.
+         * @return True if the bytes are identical.
+         */
+        private boolean sameBytes(byte[] previous, int start) {
+            for (int i = 0; i < previous.length; i++) {
+                if (previous[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Parses a column as a decimal integer, ignoring surrounding spaces.
+         *
+         * @param column The column index.
+         * @return The parsed value.
+         * @throws NumberFormatException If the column is not a valid integer.
+         */
+        int intValue(int column) {
+            int start = starts[column];
+            int end = ends[column];
+            while (start < end && buffer.get(start) == ' ') {
+                start++;
+            }
+            while (end > start && buffer.get(end - 1) == ' ') {
+                end--;
+            }
+
+            boolean negative = start < end && buffer.get(start) == '-';
+            int i = negative ? start + 1 : start;
+            if (i == end || end - i > 9) {
+                throw new NumberFormatException("Not an int in column " + column);
+            }
+            int value = 0;
+            for (; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("Not an int in column " + column);
+                }
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+
+        /**
+         * Returns the text of every column, reusing unchanged Strings from the previous row.
+         *
+         * @return The columns of the row.
+         */
+        String[] columns() {
+            String[] columns = new String[count];
+            for (int i = 0; i < count; i++) {
+                columns[i] = string(i);
+            }
+            return columns;
+        }
+
+        /**
+         * Decodes the whole line.
+         *
+         * @return The raw line, without its line terminator.
+         */
+        String line() {
+            int length = lineEnd - lineStart;
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            for (int i = 0; i < length; i++) {
+                scratch[i] = buffer.get(lineStart + i);
+            }
+            return new String(scratch, 0, length, CHARSET);
+        }
+    }
+}
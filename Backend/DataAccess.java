@@ -0,0 +1,152 @@
+package Backend;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <h1>DataAccess Class</h1>
+ * The DataAccess class runs CsvEditor and StatisticsService calls on a dedicated
+ * background thread and returns their results as CompletableFutures, so that screens
+ * never read or write the data files on the Swing event thread.
+ *
+ * <p>Usage:
+ * Screens call a DataAccess method, show a placeholder, and fill in the result on the
+ * event thread, e.g. {@code DataAccess.readUser(name).thenAcceptAsync(this::show, SwingUtilities::invokeLater)}.
+ * All calls run one after another on a single thread, in the order they were made, so a
+ * read that follows a write always sees that write. Goal and task objects handed to the
+ * event thread are replaced rather than modified by later refreshes.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public final class DataAccess {
+
+    // Single thread, so calls are applied in the order they were made
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "data-access");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final StatisticsService statsService = new StatisticsService();
+
+    private DataAccess() {
+    }
+
+    /**
+     * Checks a username and password against the stored credentials.
+     *
+     * @param username The username entered by the user.
+     * @param password The password entered by the user.
+     * @return A future that completes with true if the credentials match.
+     */
+    public static CompletableFuture<Boolean> matchCredentials(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> CsvEditor.matchCredentials(username, password), executor);
+    }
+
+    /**
+     * Checks whether a username is already taken.
+     *
+     * @param username The username to look up.
+     * @return A future that completes with true if the username exists.
+     */
+    public static CompletableFuture<Boolean> usernameExists(String username) {
+        return CompletableFuture.supplyAsync(() -> CsvEditor.usernameExists(username), executor);
+    }
+
+    /**
+     * Loads a user together with their goals and tasks.
+     *
+     * @param username The username of the user.
+     * @return A future that completes with the loaded User.
+     */
+    public static CompletableFuture<User> readUser(String username) {
+        return CompletableFuture.supplyAsync(() -> CsvEditor.readUser(username), executor);
+    }
+
+    /**
+     * Brings a user's goals and tasks up to date.
+     *
+     * @param user The user to refresh.
+     * @return A future that completes with the same user once it was refreshed.
+     */
+    public static CompletableFuture<User> refreshUser(User user) {
+        return CompletableFuture.supplyAsync(() -> {
+            user.setGoalsAndTasks();
+            return user;
+        }, executor);
+    }
+
+    /**
+     * Saves a new user.
+     *
+     * @param username The username of the new user.
+     * @param password The password of the new user.
+     * @return A future that completes once the user was written.
+     */
+    public static CompletableFuture<Void> writeUser(String username, String password) {
+        return CompletableFuture.runAsync(() -> CsvEditor.writeUser(username, password), executor);
+    }
+
+    /**
+     * Saves a new goal with its tasks and refreshes the user so it includes the goal.
+     *
+     * @param user      The user who owns the goal.
+     * @param goal      The goal to save.
+     * @param dueDate   The due date of the goal in the format "yyyy-MM-dd".
+     * @param startDate The start date of the goal in the format "yyyy-MM-dd".
+     * @return A future that completes with the refreshed user.
+     */
+    public static CompletableFuture<User> writeGoalAndTasks(User user, Goal goal, String dueDate, String startDate) {
+        return CompletableFuture.supplyAsync(() -> {
+            CsvEditor.writeGoalAndTasks(user.getUsername(), goal, dueDate, startDate);
+            user.setGoalsAndTasks();
+            return user;
+        }, executor);
+    }
+
+    /**
+     * Logs time to a task and refreshes the user so the task shows the new time.
+     *
+     * @param user     The user who owns the task.
+     * @param goalName The name of the goal containing the task.
+     * @param taskName The name of the task.
+     * @param hours    The number of hours to log.
+     * @param minutes  The number of minutes to log.
+     * @return A future that completes with the refreshed user.
+     */
+    public static CompletableFuture<User> logTimeToTask(User user, String goalName, String taskName, int hours, int minutes) {
+        return CompletableFuture.supplyAsync(() -> {
+            CsvEditor.logTimeToTask(user.getUsername(), goalName, taskName, hours, minutes);
+            user.setGoalsAndTasks();
+            return user;
+        }, executor);
+    }
+
+    /**
+     * Computes the statistics snapshot of a goal.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return A future that completes with the goal's statistics.
+     */
+    public static CompletableFuture<GoalStatistics> goalStatistics(String username, String goalName) {
+        return CompletableFuture.supplyAsync(() -> statsService.calculateGoalStatistics(username, goalName), executor);
+    }
+
+    /**
+     * Reads the write version of a goal, which changes whenever the goal, one of its tasks or
+     * its logged time is written. Reads are queued behind earlier writes, so the version
+     * includes every change made before the call.
+     *
+     * @param username The username of the user.
+     * @param goalName The name of the goal.
+     * @return A future that completes with the goal's version.
+     */
+    public static CompletableFuture<Long> goalVersion(String username, String goalName) {
+        return CompletableFuture.supplyAsync(() -> CsvEditor.readGoalVersion(username, goalName), executor);
+    }
+}
@@ -0,0 +1,121 @@
+package Backend;
+
+import java.time.LocalDate;
+
+/**
+ * <h1>EpochDays Class</h1>
+ * The EpochDays class converts "yyyy-MM-dd" date strings to epoch days (days since
+ * 1970-01-01) without creating LocalDate objects, so that large time log histories
+ * can be bucketed with plain integer arithmetic.
+ *
+ * <p>Usage:
+ * Call EpochDays.parse for every date. Well-formed dates are converted directly from
+ * their digits; anything unusual falls back to LocalDate.parse. Time logs are written
+ * in date order, so the last converted date is remembered and reused when the next
+ * log falls on the same day.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+final class EpochDays {
+
+    // Returned for missing or unparsable dates
+    static final long INVALID = Long.MIN_VALUE;
+
+    // Last converted date, reused when the next log falls on the same day
+    private static volatile CachedDate lastDate = new CachedDate("", INVALID);
+
+    private EpochDays() {
+    }
+
+    /**
+     * Converts a date in the format "yyyy-MM-dd" to an epoch day.
+     *
+     * @param date The date string, may be null.
+     * @return The epoch day, or INVALID if the date is missing or invalid.
+     */
+    static long parse(String date) {
+        if (date == null) {
+            return INVALID;
+        }
+        CachedDate cached = lastDate;
+        if (cached.date.equals(date)) {
+            return cached.epochDay;
+        }
+
+        long epochDay = parseDigits(date);
+        if (epochDay == INVALID) {
+            // Unusual input (day 29-31, extra whitespace, ...) takes the exact slow path
+            try {
+                epochDay = LocalDate.parse(date.trim()).toEpochDay();
+            } catch (Exception e) {
+                System.out.println("Error parsing date: " + e.getMessage());
+                return INVALID;
+            }
+        }
+        lastDate = new CachedDate(date, epochDay);
+        return epochDay;
+    }
+
+    /**
+     * Converts a well-formed "yyyy-MM-dd" date straight from its digits. Only days up to
+     * the 28th are accepted, since those are valid in every month.
+     *
+     * @param date The date string.
+     * @return The epoch day, or INVALID if the fast path does not apply.
+     */
+    private static long parseDigits(String date) {
+        if (date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return INVALID;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 28) {
+            return INVALID;
+        }
+
+        // Days from civil date, counting years from March so leap days fall at the end
+        int y = (month <= 2) ? year - 1 : year;
+        long era = y / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Parses a run of decimal digits.
+     *
+     * @param text  The text containing the digits.
+     * @param start The index of the first digit.
+     * @param end   The index after the last digit.
+     * @return The parsed value, or -1 if a character is not a digit.
+     */
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * A converted date, kept together so the cache is always read consistently.
+     */
+    private static class CachedDate {
+        final String date;
+        final long epochDay;
+
+        CachedDate(String date, long epochDay) {
+            this.date = date;
+            this.epochDay = epochDay;
+        }
+    }
+}
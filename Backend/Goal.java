@@ -23,7 +23,7 @@ import Backend.CsvEditor;
 public class Goal {
     private String goalName;  // Name of the goal
     private String currentUser;  // Username of the user
-    private List<Task> tasks;  // List of tasks related to the goal
+    private volatile List<Task> tasks;  // List of tasks related to the goal
     private String dueDate;  // Due date of the goal
 
     /**
@@ -40,6 +40,22 @@ public class Goal {
         this.dueDate = setDueDate();  // Initialize the due date
     }
 
+    /**
+     * Constructor for the Goal class that initializes a goal from data that was already
+     * loaded, without reading the goal or task files again.
+     *
+     * @param currentUser The username of the user associated with the goal.
+     * @param goalName The name of the goal.
+     * @param dueDate The due date of the goal.
+     * @param tasks The tasks of the goal.
+     */
+    public Goal(String currentUser, String goalName, String dueDate, List<Task> tasks) {
+        this.currentUser = currentUser;
+        this.goalName = goalName;
+        this.dueDate = dueDate;
+        this.tasks = new ArrayList<>(tasks);
+    }
+
     /**
      * Getter for the goal's name.
      *
@@ -105,6 +121,15 @@ public class Goal {
         this.tasks = setTasks();  // Re-fetch tasks for the goal
     }
 
+    /**
+     * Replaces the list of tasks with tasks that were already loaded.
+     *
+     * @param tasks The new tasks of the goal.
+     */
+    void replaceTasks(List<Task> tasks) {
+        this.tasks = new ArrayList<>(tasks);
+    }
+
     /**
      * Getter for the list of tasks associated with the goal.
      *
@@ -0,0 +1,124 @@
+package Backend;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>GoalBreakdown Class</h1>
+ * The GoalBreakdown class holds the outcome of breaking one goal down into tasks as part
+ * of a batch: either the generated tasks, or the error that prevented them.
+ *
+ * <p>Usage:
+ * Build a GoalBreakdown.Request for every goal and pass the list to
+ * AIAssistant.getTasksAIBatchAsync. The returned breakdowns are in the same order as the
+ * requests; each one succeeds or fails independently of the others.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public class GoalBreakdown {
+    private final String goal;
+    private final LocalDate dueDate;
+    private final List<Task> tasks;
+    private final Throwable error;
+
+    /**
+     * Constructor for the GoalBreakdown class.
+     *
+     * @param goal    The goal that was broken down.
+     * @param dueDate The due date of the goal.
+     * @param tasks   The generated tasks, or null if the breakdown failed.
+     * @param error   The reason the breakdown failed, or null if it succeeded.
+     */
+    GoalBreakdown(String goal, LocalDate dueDate, List<Task> tasks, Throwable error) {
+        this.goal = goal;
+        this.dueDate = dueDate;
+        this.tasks = (tasks != null) ? Collections.unmodifiableList(tasks) : null;
+        this.error = error;
+    }
+
+    /**
+     * Getter for the goal.
+     *
+     * @return The goal text.
+     */
+    public String getGoal() {
+        return goal;
+    }
+
+    /**
+     * Getter for the due date.
+     *
+     * @return The due date of the goal.
+     */
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * Checks whether tasks were generated for the goal.
+     *
+     * @return True if the breakdown succeeded.
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    /**
+     * Getter for the generated tasks.
+     *
+     * @return An unmodifiable list of tasks, or null if the breakdown failed.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Getter for the error.
+     *
+     * @return The reason the breakdown failed, or null if it succeeded.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * A goal to break down as part of a batch.
+     */
+    public static class Request {
+        private final String goal;
+        private final LocalDate dueDate;
+
+        /**
+         * Constructor for the Request class.
+         *
+         * @param goal    The goal text.
+         * @param dueDate The due date of the goal.
+         */
+        public Request(String goal, LocalDate dueDate) {
+            this.goal = goal;
+            this.dueDate = dueDate;
+        }
+
+        /**
+         * Getter for the goal.
+         *
+         * @return The goal text.
+         */
+        public String getGoal() {
+            return goal;
+        }
+
+        /**
+         * Getter for the due date.
+         *
+         * @return The due date of the goal.
+         */
+        public LocalDate getDueDate() {
+            return dueDate;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package Backend;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <h1>GoalStatistics Class</h1>
+ * The GoalStatistics class is a read-only snapshot of every statistic shown for a goal:
+ * task completion, estimated and logged time, the incomplete tasks and the logged time
+ * per week.
+ *
+ * <p>Usage:
+ * Instances are created by StatisticsService.calculateGoalStatistics, which computes all
+ * values in a single pass over the goal's tasks and a single pass over its time logs.
+ * Screens that need several statistics should request one snapshot and read its values
+ * instead of calling the individual StatisticsService methods.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public class GoalStatistics {
+    private final String goalName;
+    private final String dueDate;
+    private final String startDate;
+    private final int totalTasks;
+    private final int completedTasks;
+    private final int[] totalTimeToComplete;
+    private final int[] loggedTime;
+    private final List<Task> incompleteTasks;
+    private final Map<Long, Integer> weeklyLoggedMinutes;
+
+    /**
+     * Constructor for the GoalStatistics class.
+     *
+     * @param goalName            The name of the goal.
+     * @param dueDate             The due date of the goal, or null if unknown.
+     * @param startDate           The start date of the goal, or null if unknown.
+     * @param totalTasks          The number of tasks in the goal.
+     * @param completedTasks      The number of completed tasks.
+     * @param totalTimeToComplete The estimated time of all tasks as {hours, minutes}.
+     * @param loggedTime          The total logged time as {hours, minutes}.
+     * @param incompleteTasks     The tasks that are not complete yet.
+     * @param weeklyLoggedMinutes The logged minutes per week since the start date.
+     */
+    GoalStatistics(String goalName, String dueDate, String startDate, int totalTasks, int completedTasks,
+                   int[] totalTimeToComplete, int[] loggedTime, List<Task> incompleteTasks,
+                   Map<Long, Integer> weeklyLoggedMinutes) {
+        this.goalName = goalName;
+        this.dueDate = dueDate;
+        this.startDate = startDate;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+        this.totalTimeToComplete = totalTimeToComplete;
+        this.loggedTime = loggedTime;
+        this.incompleteTasks = Collections.unmodifiableList(incompleteTasks);
+        this.weeklyLoggedMinutes = Collections.unmodifiableMap(weeklyLoggedMinutes);
+    }
+
+    /**
+     * Getter for the goal's name.
+     *
+     * @return The name of the goal.
+     */
+    public String getGoalName() {
+        return goalName;
+    }
+
+    /**
+     * Getter for the goal's due date.
+     *
+     * @return The due date in the format "yyyy-MM-dd", or null if unknown.
+     */
+    public String getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * Getter for the goal's start date.
+     *
+     * @return The start date in the format "yyyy-MM-dd", or null if unknown.
+     */
+    public String getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Getter for the number of tasks in the goal.
+     *
+     * @return The number of tasks.
+     */
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    /**
+     * Getter for the number of completed tasks in the goal.
+     *
+     * @return The number of completed tasks.
+     */
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * Calculates the task completion percentage of the goal.
+     *
+     * @return The completion percentage, or 0 if the goal has no tasks.
+     */
+    public double getCompletionPercentage() {
+        return (totalTasks > 0) ? ((double) completedTasks / totalTasks) * 100 : 0.0;
+    }
+
+    /**
+     * Getter for the estimated time to complete every task of the goal.
+     *
+     * @return An array with total hours [0] and remaining minutes [1].
+     */
+    public int[] getTotalTimeToComplete() {
+        return totalTimeToComplete.clone();
+    }
+
+    /**
+     * Getter for the total time logged to the goal.
+     *
+     * @return An array with total hours [0] and remaining minutes [1].
+     */
+    public int[] getLoggedTime() {
+        return loggedTime.clone();
+    }
+
+    /**
+     * Getter for the incomplete tasks of the goal.
+     *
+     * @return An unmodifiable list of incomplete tasks.
+     */
+    public List<Task> getIncompleteTasks() {
+        return incompleteTasks;
+    }
+
+    /**
+     * Getter for the logged time grouped by week, in minutes.
+     *
+     * @return An unmodifiable map of week number to logged minutes, ordered by week.
+     */
+    public Map<Long, Integer> getWeeklyLoggedMinutes() {
+        return weeklyLoggedMinutes;
+    }
+
+    /**
+     * Calculates the logged time grouped by week, in whole hours. Minutes are summed
+     * across the whole week before rounding down.
+     *
+     * @return A map of week number to logged hours, ordered by week.
+     */
+    public Map<Long, Integer> getWeeklyLoggedTime() {
+        Map<Long, Integer> weeklyLoggedHours = new TreeMap<>();
+        for (Map.Entry<Long, Integer> week : weeklyLoggedMinutes.entrySet()) {
+            weeklyLoggedHours.put(week.getKey(), week.getValue() / 60);
+        }
+        return weeklyLoggedHours;
+    }
+}
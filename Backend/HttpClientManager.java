@@ -0,0 +1,302 @@
+package Backend;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <h1>HttpClientManager Class</h1>
+ * The HttpClientManager class owns a long-lived HttpClient that is shared by every AI
+ * request, so connections (and their TLS sessions) are reused instead of being set up
+ * again for each prompt. HTTP/2 is preferred, so parallel requests to the same host share
+ * one connection where the server supports it.
+ *
+ * <p>Usage:
+ * AIAssistant sends its requests through HttpClientManager.shared(). At most a fixed number
+ * of requests are in flight at once; further requests wait in order for a free slot without
+ * blocking their caller. A request holds its slot until its body has been received, or until
+ * a streamed body is closed, so callers must close the InputStream of a streamed response.
+ * Each request has a timeout that covers both the wait and the exchange. The shared
+ * manager's executor and concurrency limit can be set with configureShared before its
+ * first use.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public class HttpClientManager {
+
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static Executor sharedExecutor;
+    private static int sharedMaxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private static HttpClientManager shared;
+
+    private final HttpClient client;
+    private final int maxConcurrentRequests;
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private int activeRequests = 0;
+
+    /**
+     * Constructor for the HttpClientManager class.
+     *
+     * @param executor              The executor for the client's asynchronous work, or null for the default.
+     * @param maxConcurrentRequests The maximum number of requests in flight at once.
+     */
+    public HttpClientManager(Executor executor, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1");
+        }
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.client = builder.build();
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Sets the executor and concurrency limit of the shared manager. Must be called before
+     * the shared manager is first used.
+     *
+     * @param executor              The executor for the client's asynchronous work, or null for the default.
+     * @param maxConcurrentRequests The maximum number of requests in flight at once.
+     * @throws IllegalStateException If the shared manager was already created.
+     */
+    public static synchronized void configureShared(Executor executor, int maxConcurrentRequests) {
+        if (shared != null) {
+            throw new IllegalStateException("The shared HttpClientManager is already in use");
+        }
+        sharedExecutor = executor;
+        sharedMaxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Returns the manager shared by all AI requests, creating it on first use.
+     *
+     * @return The shared manager.
+     */
+    public static synchronized HttpClientManager shared() {
+        if (shared == null) {
+            Executor executor = sharedExecutor;
+            if (executor == null) {
+                executor = Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "ai-http");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            shared = new HttpClientManager(executor, sharedMaxConcurrentRequests);
+        }
+        return shared;
+    }
+
+    /**
+     * Sends a request without blocking once a concurrency slot is free. Cancelling the
+     * returned future, or letting it time out, aborts the request.
+     *
+     * @param request The request to send.
+     * @param timeout How long to wait for a slot and the complete response.
+     * @return A future completing with the response, or with a TimeoutException.
+     */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request, Duration timeout) {
+        return sendAsync(request, HttpResponse.BodyHandlers.ofString(), timeout);
+    }
+
+    /**
+     * Sends a request without blocking once a concurrency slot is free, handling the body
+     * with the given handler. The slot is freed once the whole body has been received, or
+     * when a streamed body (e.g. an InputStream) is closed before that, so streamed bodies
+     * are read within the concurrency limit. A response that arrives after the returned
+     * future was cancelled or timed out has its body closed, if it can be.
+     *
+     * @param request     The request to send.
+     * @param bodyHandler The handler for the response body.
+     * @param timeout     How long to wait for a slot and the response headers.
+     * @param <T>         The type of the response body.
+     * @return A future completing with the response, or with a TimeoutException.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                                                            Duration timeout) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            if (result.isDone()) {
+                release(); // Cancelled or timed out while waiting
+                return;
+            }
+            Runnable releaseOnce = releaseOnce();
+            CompletableFuture<HttpResponse<T>> exchange = client.sendAsync(request,
+                    responseInfo -> new ReleasingSubscriber<>(bodyHandler.apply(responseInfo), releaseOnce));
+            exchange.whenComplete((response, error) -> {
+                if (error != null) {
+                    releaseOnce.run();
+                    result.completeExceptionally(error);
+                } else if (!result.complete(response)) {
+                    closeQuietly(response.body()); // Nobody will read it, so stop it and free the slot
+                }
+            });
+            // Stop the exchange if the result is cancelled or times out first
+            result.whenComplete((response, error) -> exchange.cancel(true));
+        };
+
+        synchronized (this) {
+            if (activeRequests < maxConcurrentRequests) {
+                activeRequests++;
+            } else {
+                waiting.addLast(start);
+                start = null;
+            }
+        }
+        if (start != null) {
+            start.run();
+        }
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends a request and waits for the response.
+     *
+     * @param request The request to send.
+     * @param timeout How long to wait for a slot and the complete response.
+     * @return The response.
+     * @throws IOException          If the request fails or times out.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public HttpResponse<String> send(HttpRequest request, Duration timeout) throws IOException, InterruptedException {
+        CompletableFuture<HttpResponse<String>> response = sendAsync(request, timeout);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Creates a task that frees a request's slot the first time it runs, since the body and
+     * the exchange can both report the end of the same request.
+     *
+     * @return The task.
+     */
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        };
+    }
+
+    /**
+     * Closes a response body that is a stream, ignoring errors.
+     *
+     * @param body The response body.
+     */
+    private static void closeQuietly(Object body) {
+        if (body instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) body).close();
+            } catch (Exception e) {
+                // Nothing left to do with it
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a finished request and starts the next waiting one, if any.
+     */
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.pollFirst();
+            if (next == null) {
+                activeRequests--;
+            }
+        }
+        if (next != null) {
+            next.run(); // Takes over the freed slot
+        }
+    }
+
+    /**
+     * Passes a response body on to the caller's subscriber and frees the request's slot once
+     * the body is complete, has failed, or was cancelled, e.g. by closing its InputStream.
+     */
+    private static final class ReleasingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final Runnable release;
+
+        ReleasingSubscriber(HttpResponse.BodySubscriber<T> delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = release;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                    release.run();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            try {
+                delegate.onError(throwable);
+            } finally {
+                release.run();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                delegate.onComplete();
+            } finally {
+                release.run();
+            }
+        }
+    }
+}
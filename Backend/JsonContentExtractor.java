@@ -0,0 +1,179 @@
+package Backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * <h1>JsonContentExtractor Class</h1>
+ * The JsonContentExtractor class reads a chat completion response as a stream of JSON
+ * tokens and returns the value of its first "content" string, fully unescaped (quotes,
+ * backslashes, control characters and \\u escapes, including surrogate pairs).
+ *
+ * <p>Usage:
+ * Pass the response body as it arrives from the network. Other strings are decoded only
+ * to recognise keys, and the content is decoded one character at a time, so each
+ * completed line of content can be handed to a listener before the rest of the body
+ * has arrived. The rest of the body is drained, so the connection can be reused.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public final class JsonContentExtractor {
+
+    private static final String CONTENT_KEY = "content";
+
+    private JsonContentExtractor() {
+    }
+
+    /**
+     * Extracts the content from a UTF-8 encoded response body.
+     *
+     * @param body         The response body.
+     * @param lineListener Receives each line of the content as soon as it is complete, or null.
+     * @return The content, or null if the body has no "content" string.
+     * @throws IOException If the body cannot be read or is not valid JSON.
+     */
+    public static String extract(InputStream body, Consumer<String> lineListener) throws IOException {
+        return extract(new InputStreamReader(body, StandardCharsets.UTF_8), lineListener);
+    }
+
+    /**
+     * Extracts the content from a response body.
+     *
+     * @param body         The response body.
+     * @param lineListener Receives each line of the content as soon as it is complete, or null.
+     * @return The content, or null if the body has no "content" string.
+     * @throws IOException If the body cannot be read or is not valid JSON.
+     */
+    public static String extract(Reader body, Consumer<String> lineListener) throws IOException {
+        PushbackReader reader = new PushbackReader(body, 1);
+        String content = null;
+        String lastKey = null;
+        boolean expectingValue = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '"') {
+                if (content == null && expectingValue && CONTENT_KEY.equals(lastKey)) {
+                    // The value we are looking for, decoded as it arrives
+                    content = readString(reader, lineListener);
+                    expectingValue = false;
+                    continue;
+                }
+
+                String text = readString(reader, null);
+                int next = skipWhitespace(reader);
+                if (next == ':') {
+                    lastKey = text; // It was a key
+                    expectingValue = true;
+                } else {
+                    expectingValue = false;
+                    if (next != -1) {
+                        reader.unread(next);
+                    }
+                }
+            } else if (!Character.isWhitespace(c)) {
+                // Numbers, literals, objects and arrays are not the content
+                expectingValue = false;
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Reads the rest of a string token after its opening quote and unescapes it.
+     *
+     * @param reader       The reader positioned after the opening quote.
+     * @param lineListener Receives each completed line of the string, or null.
+     * @return The unescaped string.
+     * @throws IOException If the string is not terminated or has an invalid escape.
+     */
+    private static String readString(Reader reader, Consumer<String> lineListener) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int lineStart = 0;
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                throw new IOException("Unterminated string in JSON response");
+            }
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\') {
+                c = readEscape(reader);
+            }
+            text.append((char) c);
+
+            if (c == '\n' && lineListener != null) {
+                lineListener.accept(text.substring(lineStart, text.length() - 1));
+                lineStart = text.length();
+            }
+        }
+        if (lineListener != null && lineStart < text.length()) {
+            lineListener.accept(text.substring(lineStart)); // Last line has no newline
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads an escape sequence after its backslash. A \\u escape yields one UTF-16 unit;
+     * surrogate pairs arrive as two consecutive escapes and are appended as two units.
+     *
+     * @param reader The reader positioned after the backslash.
+     * @return The escaped character.
+     * @throws IOException If the escape is invalid.
+     */
+    private static int readEscape(Reader reader) throws IOException {
+        int c = reader.read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(reader.read(), 16);
+                    if (digit < 0) {
+                        throw new IOException("Invalid unicode escape in JSON response");
+                    }
+                    value = value * 16 + digit;
+                }
+                return value;
+            default:
+                throw new IOException("Invalid escape in JSON response: \\" + (char) c);
+        }
+    }
+
+    /**
+     * Skips whitespace.
+     *
+     * @param reader The reader.
+     * @return The first character that is not whitespace, or -1 at the end of the body.
+     * @throws IOException If the body cannot be read.
+     */
+    private static int skipWhitespace(Reader reader) throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+}
@@ -0,0 +1,283 @@
+package Backend;
+
+/**
+ * <h1>JsonWriter Class</h1>
+ * The JsonWriter class builds a JSON document token by token into a single StringBuilder,
+ * escaping every string, so text such as a goal name with quotes or line breaks can never
+ * produce invalid JSON.
+ *
+ * <p>Usage:
+ * Call beginObject/endObject, beginArray/endArray, name and value in document order; commas
+ * and colons are inserted automatically. Every call returns the writer, so a document can be
+ * written as one chained expression, and toString returns it. A writer can be cleared with
+ * reset and reused, so building many requests does not allocate a new buffer each time.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public final class JsonWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder out;
+    // Whether the object or array at each depth already has a member, so the next one needs a comma
+    private boolean[] hasMember = new boolean[8];
+    private int depth = 0;
+    private boolean afterName = false;
+
+    /**
+     * Constructor for the JsonWriter class.
+     *
+     * @param capacity The initial size of the buffer, in characters.
+     */
+    public JsonWriter(int capacity) {
+        this.out = new StringBuilder(capacity);
+    }
+
+    /**
+     * Constructor for the JsonWriter class with a small buffer.
+     */
+    public JsonWriter() {
+        this(256);
+    }
+
+    /**
+     * Clears the writer so it can write a new document into the same buffer.
+     *
+     * @return This writer.
+     */
+    public JsonWriter reset() {
+        out.setLength(0);
+        depth = 0;
+        afterName = false;
+        return this;
+    }
+
+    /**
+     * Starts an object.
+     *
+     * @return This writer.
+     */
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return This writer.
+     */
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    /**
+     * Starts an array.
+     *
+     * @return This writer.
+     */
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return This writer.
+     */
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name The member name.
+     * @return This writer.
+     */
+    public JsonWriter name(String name) {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("A name must be followed by a value inside an object");
+        }
+        separate();
+        writeString(out, name);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or null.
+     *
+     * @param value The value.
+     * @return This writer.
+     */
+    public JsonWriter value(CharSequence value) {
+        beforeValue();
+        if (value == null) {
+            out.append("null");
+        } else {
+            writeString(out, value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a whole number.
+     *
+     * @param value The value.
+     * @return This writer.
+     */
+    public JsonWriter value(long value) {
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * Writes a number.
+     *
+     * @param value The value, which must be finite.
+     * @return This writer.
+     */
+    public JsonWriter value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON numbers must be finite: " + value);
+        }
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean.
+     *
+     * @param value The value.
+     * @return This writer.
+     */
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * Returns the document written so far.
+     *
+     * @return The JSON text.
+     */
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    /**
+     * Appends a string as a quoted JSON string, escaping quotes, backslashes, control
+     * characters and the line separators U+2028 and U+2029.
+     *
+     * @param out   The buffer to append to.
+     * @param value The string.
+     */
+    public static void writeString(StringBuilder out, CharSequence value) {
+        out.append('"');
+        int length = value.length();
+        int plainStart = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            // Copy the run of plain characters in one go, then the escape
+            out.append(value, plainStart, i);
+            plainStart = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                default:
+                    out.append("\\u")
+                            .append(HEX_DIGITS[(c >> 12) & 0xF]).append(HEX_DIGITS[(c >> 8) & 0xF])
+                            .append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+            }
+        }
+        out.append(value, plainStart, length);
+        out.append('"');
+    }
+
+    /**
+     * Opens an object or array.
+     *
+     * @param bracket The opening bracket.
+     * @return This writer.
+     */
+    private JsonWriter open(char bracket) {
+        beforeValue();
+        out.append(bracket);
+        if (depth == hasMember.length) {
+            boolean[] grown = new boolean[depth * 2];
+            System.arraycopy(hasMember, 0, grown, 0, depth);
+            hasMember = grown;
+        }
+        hasMember[depth++] = false;
+        return this;
+    }
+
+    /**
+     * Closes the current object or array.
+     *
+     * @param bracket The closing bracket.
+     * @return This writer.
+     */
+    private JsonWriter close(char bracket) {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Nothing to close with " + bracket);
+        }
+        depth--;
+        out.append(bracket);
+        return this;
+    }
+
+    /**
+     * Prepares for a value: after a name it follows the colon, otherwise it is the next
+     * element of the current array (or the whole document).
+     */
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            separate();
+        }
+    }
+
+    /**
+     * Writes the comma between members, if the current object or array has one already.
+     */
+    private void separate() {
+        if (hasMember[depth - 1]) {
+            out.append(',');
+        }
+        hasMember[depth - 1] = true;
+    }
+}
@@ -0,0 +1,121 @@
+package Backend;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * <h1>LocalTaskProvider Class</h1>
+ * The LocalTaskProvider class breaks goals down into tasks from a fixed template, without
+ * any network access, so goals can be created offline and the goal pipeline can be timed
+ * without waiting on a remote AI.
+ *
+ * <p>Usage:
+ * Select it with the AI_PROVIDER property set to "local", or with AIAssistant.setProvider.
+ * The plan is sized to the due date: a goal gets about half an hour of work per day until
+ * it is due (between 2 and 100 hours), with one work step per week (at most 6) between a
+ * research and planning start and a review and wrap-up end. The same goal and due date
+ * always give the same tasks on the same day.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public class LocalTaskProvider implements AIProvider {
+
+    public static final String NAME = "local";
+    private static final int MINUTES_PER_DAY = 30;
+    private static final int MIN_TOTAL_MINUTES = 2 * 60;
+    private static final int MAX_TOTAL_MINUTES = 100 * 60;
+    private static final int MAX_WORK_STEPS = 6;
+    private static final int WORK_STEP_WEIGHT = 3;
+    private static final int ROUND_TO_MINUTES = 15;
+    // Leaves room for the template text within the 100 character limit of task names
+    private static final int MAX_GOAL_LENGTH = 60;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> generateTasks(String goal, LocalDate dueDate, Duration timeout,
+                                                       Consumer<Task> taskListener) {
+        List<Task> tasks = createTasks(goal, dueDate);
+        if (taskListener != null) {
+            tasks.forEach(taskListener);
+        }
+        return CompletableFuture.completedFuture(tasks);
+    }
+
+    @Override
+    public CompletableFuture<List<List<Task>>> generateTasksBatch(List<GoalBreakdown.Request> goals, Duration timeout) {
+        List<List<Task>> tasksByGoal = new ArrayList<>(goals.size());
+        for (GoalBreakdown.Request request : goals) {
+            tasksByGoal.add(createTasks(request.getGoal(), request.getDueDate()));
+        }
+        return CompletableFuture.completedFuture(tasksByGoal);
+    }
+
+    /**
+     * Builds the tasks for a goal from the template.
+     *
+     * @param goal    The name of the goal.
+     * @param dueDate The due date of the goal.
+     * @return The tasks, in the order they should be done.
+     */
+    List<Task> createTasks(String goal, LocalDate dueDate) {
+        String name = goalLabel(goal);
+        long days = Math.max(1, ChronoUnit.DAYS.between(LocalDate.now(), dueDate));
+        int workSteps = (int) Math.min(MAX_WORK_STEPS, Math.max(1, (days + 6) / 7));
+        int totalMinutes = (int) Math.min(MAX_TOTAL_MINUTES, Math.max(MIN_TOTAL_MINUTES, days * MINUTES_PER_DAY));
+
+        List<String> names = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        names.add("Research the basics of " + name);
+        weights.add(1);
+        names.add("Make a plan for " + name);
+        weights.add(1);
+        for (int step = 1; step <= workSteps; step++) {
+            names.add(workSteps == 1 ? "Work on " + name : "Work on " + name + " - step " + step);
+            weights.add(WORK_STEP_WEIGHT);
+        }
+        if (workSteps > 1) {
+            names.add("Review progress on " + name);
+            weights.add(1);
+        }
+        names.add("Wrap up " + name);
+        weights.add(1);
+
+        int totalWeight = weights.stream().mapToInt(Integer::intValue).sum();
+        List<Task> tasks = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            int minutes = Math.round((float) totalMinutes * weights.get(i) / totalWeight / ROUND_TO_MINUTES) * ROUND_TO_MINUTES;
+            minutes = Math.max(ROUND_TO_MINUTES, minutes);
+            tasks.add(new Task(names.get(i), minutes / 60, minutes % 60));
+        }
+        return tasks;
+    }
+
+    /**
+     * Turns a goal into text that fits in a task name: no commas, which separate the
+     * columns of the data files, single spaces, and at most MAX_GOAL_LENGTH characters.
+     *
+     * @param goal The name of the goal.
+     * @return The goal as it appears in task names.
+     */
+    private static String goalLabel(String goal) {
+        String label = goal.replace(',', ' ').trim().replaceAll("\\s+", " ");
+        return (label.length() > MAX_GOAL_LENGTH) ? label.substring(0, MAX_GOAL_LENGTH).trim() : label;
+    }
+}
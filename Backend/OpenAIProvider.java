@@ -0,0 +1,414 @@
+package Backend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <h1>OpenAIProvider Class</h1>
+ * The OpenAIProvider class breaks goals down into tasks by prompting the OpenAI chat
+ * completions API for a CSV list of tasks.
+ *
+ * <p>Usage:
+ * The endpoint, API key, model, temperature and token limit are read from the
+ * OPENAI_API_URL, OPENAI_API_KEY, OPENAI_MODEL, OPENAI_TEMPERATURE and OPENAI_MAX_TOKENS
+ * properties on every request, so they can be changed at runtime (e.g. to point at a local
+ * stub server). The token limit applies per goal, so a batch of goals may use a multiple.
+ * Requests go through the shared HttpClientManager. When a task listener is given, the
+ * answer is requested as server-sent events and each task is handed out as soon as its
+ * line is complete.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public class OpenAIProvider implements AIProvider {
+
+    public static final String NAME = "openai";
+    private static final String DEFAULT_API_URL = "https://api.openai.com/v1/chat/completions";
+    private static final String DEFAULT_MODEL = "gpt-3.5-turbo";
+    // Low, so the answer sticks to the CSV format
+    private static final double DEFAULT_TEMPERATURE = 0.3;
+    // Ample for one goal's task list; bounds how long an answer can keep generating
+    private static final int DEFAULT_MAX_TOKENS = 600;
+
+    // Rules for the tasks, shared by the single-goal and batch prompts
+    private static final String TASK_GUIDELINES = "The hours and minutes should add up to the total time estimated to complete the task. "
+            + "The required time to complete all tasks should not exceed the time until the due date. "
+            + "The tasks should not be numbered and the first line should be the format specification. "
+            + "The tasks should be simple, achievable through self-study, and should not require professional instruction, public performance, or additional resources. "
+            + "Ensure task names are short, simple, and do not contain commas or special punctuation.";
+
+    /**
+     * Reads the body of a chat response.
+     */
+    private interface BodyReader {
+        String read(InputStream body) throws IOException;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> generateTasks(String goal, LocalDate dueDate, Duration timeout,
+                                                       Consumer<Task> taskListener) {
+        // Parse each task as soon as its line of the answer has arrived
+        AITaskParser parser = new AITaskParser();
+        Consumer<String> lineListener = line -> {
+            Task task = parser.parseLine(line);
+            if (task != null && taskListener != null) {
+                taskListener.accept(task);
+            }
+        };
+        String prompt = createTasksPrompt(goal, dueDate);
+        CompletableFuture<String> response = (taskListener != null)
+                ? chatStreamAsync(prompt, timeout, lineListener)
+                : chatAsync(prompt, timeout, lineListener);
+        CompletableFuture<List<Task>> tasks = response.thenApply(csv -> {
+            System.out.println("Response:" + csv);
+            AIAssistant.logRejectedLines(parser);
+            return parser.getTasks();
+        });
+        cancelWith(tasks, response);
+        return tasks;
+    }
+
+    @Override
+    public CompletableFuture<List<List<Task>>> generateTasksBatch(List<GoalBreakdown.Request> goals, Duration timeout) {
+        CompletableFuture<String> response = sendChatAsync(
+                createChatRequest(createBatchTasksPrompt(goals), false, maxTokens() * goals.size()), timeout,
+                body -> JsonContentExtractor.extract(body, null));
+        CompletableFuture<List<List<Task>>> tasks = response.thenApply(csv -> {
+            Map<Integer, List<Task>> tasksByGoalNumber = parseBatchCSV(csv);
+            List<List<Task>> tasksByGoal = new ArrayList<>(goals.size());
+            for (int n = 1; n <= goals.size(); n++) {
+                tasksByGoal.add(tasksByGoalNumber.getOrDefault(n, new ArrayList<>()));
+            }
+            return tasksByGoal;
+        });
+        cancelWith(tasks, response);
+        return tasks;
+    }
+
+    /**
+     * Sends a prompt without blocking. The response body is parsed as it arrives, so each
+     * line of the answer can be handled before the whole body has been received. Cancelling
+     * the returned future aborts the HTTP request.
+     *
+     * @param prompt       The prompt to send.
+     * @param timeout      How long to wait for the complete response.
+     * @param lineListener Receives each line of the answer as soon as it is complete, or null.
+     * @return A future completing with the answer, or exceptionally with an AIRequestException
+     *         on an error status, an I/O error or a TimeoutException.
+     */
+    public CompletableFuture<String> chatAsync(String prompt, Duration timeout, Consumer<String> lineListener) {
+        return sendChatAsync(createChatRequest(prompt, false, maxTokens()), timeout,
+                body -> JsonContentExtractor.extract(body, lineListener));
+    }
+
+    /**
+     * Sends a prompt in streaming mode, where the answer arrives as server-sent events a few
+     * tokens at a time, so each line of the answer can be handled as soon as it is generated.
+     * Cancelling the returned future aborts the HTTP request.
+     *
+     * @param prompt       The prompt to send.
+     * @param timeout      How long to wait for the complete response.
+     * @param lineListener Receives each line of the answer as soon as it is complete, or null.
+     * @return A future completing with the whole answer, or exceptionally with an
+     *         AIRequestException on an error status, an I/O error or a TimeoutException.
+     */
+    public CompletableFuture<String> chatStreamAsync(String prompt, Duration timeout, Consumer<String> lineListener) {
+        return sendChatAsync(createChatRequest(prompt, true, maxTokens()), timeout,
+                body -> readEventStream(body, lineListener));
+    }
+
+    /**
+     * Cancels a request when the future derived from it is cancelled.
+     *
+     * @param derived  The future handed to the caller.
+     * @param response The future of the request.
+     */
+    private static void cancelWith(CompletableFuture<?> derived, CompletableFuture<String> response) {
+        derived.whenComplete((result, error) -> {
+            if (derived.isCancelled()) {
+                response.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Sends a chat request through the shared client and reads its body once the headers arrive.
+     *
+     * @param request    The request to send.
+     * @param timeout    How long to wait for the complete response.
+     * @param bodyReader Turns the response body into the answer, returning null if it has no content.
+     * @return A future completing with the answer.
+     */
+    private static CompletableFuture<String> sendChatAsync(HttpRequest request, Duration timeout, BodyReader bodyReader) {
+        // The shared client reuses connections and limits how many requests run at once
+        CompletableFuture<HttpResponse<InputStream>> exchange = HttpClientManager.shared()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofInputStream(), timeout);
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+
+            // Closing the body aborts a read that is still waiting when the result is cancelled or times out
+            result.whenComplete((message, failure) -> closeQuietly(response.body()));
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new AIRequestException(response.statusCode(),
+                            AIRequestException.parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null)));
+                }
+                String message = bodyReader.read(body);
+                if (message == null) {
+                    throw new IllegalStateException("AI response has no content");
+                }
+                result.complete(message);
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        // The timeout also covers reading the body, and cancelling the result also stops the HTTP exchange
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((message, error) -> exchange.cancel(true));
+        return result;
+    }
+
+    /**
+     * Reads a server-sent event stream of chat completion chunks. Each event's data is a JSON
+     * chunk whose "content" holds the next few characters of the answer, and the stream ends
+     * with the event "[DONE]".
+     *
+     * @param body         The event stream.
+     * @param lineListener Receives each line of the answer as soon as it is complete, or null.
+     * @return The whole answer, or null if no chunk had content.
+     * @throws IOException If the stream cannot be read.
+     */
+    private static String readEventStream(InputStream body, Consumer<String> lineListener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder answer = new StringBuilder();
+        StringBuilder data = new StringBuilder();
+        int lineStart = 0;
+        boolean hasContent = false;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // Collect the data lines of an event until the blank line that ends it
+            if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line.substring(line.startsWith("data: ") ? 6 : 5));
+                continue;
+            }
+            if (!line.isEmpty() || data.length() == 0) {
+                continue; // Comments, other fields, or an event without data
+            }
+
+            String event = data.toString();
+            data.setLength(0);
+            if (event.equals("[DONE]")) {
+                break;
+            }
+            String chunk = JsonContentExtractor.extract(new StringReader(event), null);
+            if (chunk == null) {
+                continue; // E.g. the role-only first chunk
+            }
+            hasContent = true;
+            answer.append(chunk);
+
+            // Hand out every line that is now complete
+            int newline;
+            while (lineListener != null && (newline = answer.indexOf("\n", lineStart)) >= 0) {
+                lineListener.accept(answer.substring(lineStart, newline));
+                lineStart = newline + 1;
+            }
+        }
+
+        if (lineListener != null && lineStart < answer.length()) {
+            lineListener.accept(answer.substring(lineStart)); // Last line has no newline
+        }
+        return hasContent ? answer.toString() : null;
+    }
+
+    /**
+     * Closes a response body, ignoring errors.
+     *
+     * @param body The body to close.
+     */
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException e) {
+            // Nothing left to clean up
+        }
+    }
+
+    /**
+     * Builds the HTTP request for a chat prompt. The body is written with JsonWriter, so the
+     * prompt may contain any characters.
+     *
+     * @param prompt    The prompt to send.
+     * @param stream    True to ask for the answer as a stream of server-sent events.
+     * @param maxTokens The most tokens the answer may use.
+     * @return The request.
+     */
+    private static HttpRequest createChatRequest(String prompt, boolean stream, int maxTokens) {
+        String url = System.getProperty("OPENAI_API_URL", DEFAULT_API_URL);
+        String apiKey = System.getProperty("OPENAI_API_KEY");
+
+        JsonWriter body = new JsonWriter(prompt.length() + 160);
+        body.beginObject()
+                .name("model").value(System.getProperty("OPENAI_MODEL", DEFAULT_MODEL))
+                .name("temperature").value(temperature())
+                .name("max_tokens").value(maxTokens);
+        if (stream) {
+            body.name("stream").value(true);
+        }
+        body.name("messages").beginArray()
+                .beginObject().name("role").value("user").name("content").value(prompt).endObject()
+                .endArray()
+                .endObject();
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * Reads the token limit for the answer to one goal from the OPENAI_MAX_TOKENS property.
+     *
+     * @return The configured limit, or the default if it is missing or invalid.
+     */
+    private static int maxTokens() {
+        try {
+            int maxTokens = Integer.parseInt(System.getProperty("OPENAI_MAX_TOKENS", "").trim());
+            return (maxTokens > 0) ? maxTokens : DEFAULT_MAX_TOKENS;
+        } catch (NumberFormatException e) {
+            return DEFAULT_MAX_TOKENS;
+        }
+    }
+
+    /**
+     * Reads the sampling temperature from the OPENAI_TEMPERATURE property.
+     *
+     * @return The configured temperature (0 to 2), or the default if it is missing or invalid.
+     */
+    private static double temperature() {
+        try {
+            double temperature = Double.parseDouble(System.getProperty("OPENAI_TEMPERATURE", "").trim());
+            return (temperature >= 0 && temperature <= 2) ? temperature : DEFAULT_TEMPERATURE;
+        } catch (NumberFormatException e) {
+            return DEFAULT_TEMPERATURE;
+        }
+    }
+
+    /**
+     * Parses the CSV answer to a batch prompt, where each line starts with a goal number.
+     *
+     * @param csv The CSV answer.
+     * @return The tasks of each goal, by goal number starting at 1.
+     */
+    private static Map<Integer, List<Task>> parseBatchCSV(String csv) {
+        Map<Integer, List<Task>> tasksByGoalNumber = new HashMap<>();
+        AITaskParser parser = new AITaskParser();
+        int lineStart = 0;
+        for (int i = 0; i <= csv.length(); i++) {
+            if (i < csv.length() && csv.charAt(i) != '\n') {
+                continue;
+            }
+            // Read the goal number, then hand the rest of the line to the parser
+            int comma = csv.indexOf(',', lineStart);
+            int goalNumber = (comma >= 0 && comma < i) ? parseGoalNumber(csv, lineStart, comma) : -1;
+            Task task = (goalNumber > 0) ? parser.parseLine(csv, comma + 1, i) : parser.parseLine(csv, lineStart, i);
+            if (task != null && goalNumber > 0) {
+                tasksByGoalNumber.computeIfAbsent(goalNumber, k -> new ArrayList<>()).add(task);
+            }
+            lineStart = i + 1;
+        }
+        AIAssistant.logRejectedLines(parser);
+        return tasksByGoalNumber;
+    }
+
+    /**
+     * Parses the goal number at the start of a line of a batch answer.
+     *
+     * @param csv   The answer.
+     * @param start The start of the line.
+     * @param end   The index of the comma after the goal number.
+     * @return The goal number, or -1 if the line does not start with one.
+     */
+    private static int parseGoalNumber(String csv, int start, int end) {
+        int number = 0;
+        boolean hasDigits = false;
+        for (int i = start; i < end; i++) {
+            char c = csv.charAt(i);
+            if (c >= '0' && c <= '9' && number < 1000) {
+                number = number * 10 + (c - '0');
+                hasDigits = true;
+            } else if (!Character.isWhitespace(c)) {
+                return -1;
+            }
+        }
+        return hasDigits ? number : -1;
+    }
+
+    /**
+     * Builds the prompt asking the AI to break several goals down into tasks at once.
+     *
+     * @param goals The goals to include, numbered from 1 in this order.
+     * @return The prompt.
+     */
+    private static String createBatchTasksPrompt(List<GoalBreakdown.Request> goals) {
+        StringBuilder prompt = new StringBuilder("Break down each of the following goals into smaller achievable tasks. ");
+        for (int n = 0; n < goals.size(); n++) {
+            GoalBreakdown.Request request = goals.get(n);
+            prompt.append("Goal ").append(n + 1).append(": '").append(request.getGoal()).append("' starting ")
+                    .append(LocalDate.now()).append(" and ending ").append(request.getDueDate()).append(". ");
+        }
+        return prompt.append("Format the output in a csv as follows, which each task on a new line: "
+                        + "'goal number, task name, hours to complete task, minutes to complete task' ")
+                .append(TASK_GUIDELINES)
+                .toString();
+    }
+
+    /**
+     * Builds the prompt asking the AI to break a goal down into tasks.
+     *
+     * @param goal    The name of the goal.
+     * @param dueDate The due date of the goal.
+     * @return The prompt.
+     */
+    private static String createTasksPrompt(String goal, LocalDate dueDate) {
+        return "Give me a list of tasks to break down the goal '" + goal + "' "
+                + "starting " + LocalDate.now() + " and ending " + dueDate + " into smaller achievable tasks. "
+                + "Format the output in a csv as follows, which each task on a new line: 'task name, hours to complete task, minutes to complete task' "
+                + TASK_GUIDELINES;
+    }
+}
@@ -0,0 +1,527 @@
+package Backend;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <h1>ResilientAIProvider Class</h1>
+ * The ResilientAIProvider class wraps a remote AI provider with bounded retries, a circuit
+ * breaker and a fallback provider, so a slow or failing upstream never stalls goal creation.
+ *
+ * <p>Usage:
+ * AIAssistant wraps OpenAIProvider in one of these, with LocalTaskProvider as the fallback.
+ * Each call has a deadline (the caller's timeout) and each attempt its own shorter timeout.
+ * Rate limits (429), request timeouts (408), server errors (5xx), I/O errors and attempt
+ * timeouts are retried with exponential backoff and jitter, waiting at least as long as
+ * the server's Retry-After. After a number of such failures in a row the circuit opens and
+ * calls go straight to the fallback, until a single trial call succeeds after the open
+ * period. Once a task has been streamed to the caller's listener, a failure is final, so
+ * the listener never receives tasks from two answers. Results from the fallback are marked,
+ * see isFallback, so they are not cached as AI answers. Counters for every step are
+ * available from getMetrics.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+public class ResilientAIProvider implements AIProvider {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_ATTEMPT_TIMEOUT = Duration.ofSeconds(20);
+    public static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(500);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(8);
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * The states of the circuit breaker.
+     */
+    public enum CircuitState {
+        /** Calls go to the primary provider. */
+        CLOSED,
+        /** Calls go straight to the fallback. */
+        OPEN,
+        /** One trial call goes to the primary provider to see if it recovered. */
+        HALF_OPEN
+    }
+
+    private final AIProvider primary;
+    private final AIProvider fallback;
+    private final int maxAttempts;
+    private final Duration attemptTimeout;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    // Circuit breaker state, guarded by this
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt;
+    private boolean trialInFlight = false;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong shortCircuits = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong circuitOpenings = new AtomicLong();
+
+    /**
+     * Constructor for the ResilientAIProvider class with the default settings.
+     *
+     * @param primary  The provider to protect.
+     * @param fallback The provider to use when the primary one fails, or null to fail instead.
+     */
+    public ResilientAIProvider(AIProvider primary, AIProvider fallback) {
+        this(primary, fallback, DEFAULT_MAX_ATTEMPTS, DEFAULT_ATTEMPT_TIMEOUT, DEFAULT_BASE_BACKOFF,
+                DEFAULT_MAX_BACKOFF, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION);
+    }
+
+    /**
+     * Constructor for the ResilientAIProvider class.
+     *
+     * @param primary          The provider to protect.
+     * @param fallback         The provider to use when the primary one fails, or null to fail instead.
+     * @param maxAttempts      The most attempts per call, including the first one.
+     * @param attemptTimeout   How long a single attempt may take.
+     * @param baseBackoff      The delay before the first retry, doubled for each further retry.
+     * @param maxBackoff       The longest delay between attempts, unless Retry-After asks for more.
+     * @param failureThreshold The number of failed attempts in a row that opens the circuit.
+     * @param openDuration     How long the circuit stays open before a trial call.
+     */
+    public ResilientAIProvider(AIProvider primary, AIProvider fallback, int maxAttempts, Duration attemptTimeout,
+                               Duration baseBackoff, Duration maxBackoff, int failureThreshold, Duration openDuration) {
+        if (maxAttempts < 1 || failureThreshold < 1) {
+            throw new IllegalArgumentException("maxAttempts and failureThreshold must be at least 1");
+        }
+        this.primary = primary;
+        this.fallback = fallback;
+        this.maxAttempts = maxAttempts;
+        this.attemptTimeout = attemptTimeout;
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Checks whether tasks were produced by the fallback provider rather than the primary one.
+     *
+     * @param tasks The tasks returned by a provider.
+     * @return True if the tasks came from a fallback.
+     */
+    public static boolean isFallback(List<Task> tasks) {
+        return tasks instanceof FallbackTasks;
+    }
+
+    @Override
+    public String getName() {
+        return primary.getName();
+    }
+
+    @Override
+    public boolean isLocal() {
+        return primary.isLocal();
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> generateTasks(String goal, LocalDate dueDate, Duration timeout,
+                                                       Consumer<Task> taskListener) {
+        // Remember whether the listener has seen a task, after which the call cannot start over
+        AtomicBoolean streamed = new AtomicBoolean(false);
+        Consumer<Task> listener = (taskListener == null) ? null : task -> {
+            streamed.set(true);
+            taskListener.accept(task);
+        };
+        Function<Duration, CompletableFuture<List<Task>>> fallbackCall = (fallback == null) ? null
+                : remaining -> fallback.generateTasks(goal, dueDate, remaining, listener)
+                        .thenApply(tasks -> (tasks == null) ? null : new FallbackTasks(tasks));
+        return execute(attemptTime -> primary.generateTasks(goal, dueDate, attemptTime, listener), fallbackCall,
+                () -> !streamed.get(), timeout);
+    }
+
+    @Override
+    public CompletableFuture<List<List<Task>>> generateTasksBatch(List<GoalBreakdown.Request> goals, Duration timeout) {
+        // No fallback: AIAssistant requests the goals of a failed batch one by one, which can fall back each
+        return execute(attemptTime -> primary.generateTasksBatch(goals, attemptTime), null, () -> true, timeout);
+    }
+
+    /**
+     * Runs any call to the primary service with retries and the circuit breaker, but no
+     * fallback, e.g. a plain chat prompt.
+     *
+     * @param call    Starts one attempt with the given timeout.
+     * @param timeout The deadline for the whole call, including retries.
+     * @param <T>     The type of the result.
+     * @return A future completing with the first successful attempt, or with the last failure.
+     */
+    public <T> CompletableFuture<T> call(Function<Duration, CompletableFuture<T>> call, Duration timeout) {
+        return execute(call, null, () -> true, timeout);
+    }
+
+    /**
+     * Getter for the state of the circuit breaker.
+     *
+     * @return The current state.
+     */
+    public synchronized CircuitState getCircuitState() {
+        if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return CircuitState.HALF_OPEN; // The next call will be the trial
+        }
+        return state;
+    }
+
+    /**
+     * Getter for the metrics.
+     *
+     * @return A snapshot of the counters.
+     */
+    public Metrics getMetrics() {
+        return new Metrics(calls.get(), attempts.get(), retries.get(), successes.get(), failures.get(),
+                shortCircuits.get(), fallbacks.get(), circuitOpenings.get());
+    }
+
+    /**
+     * Runs a call with retries, the circuit breaker and the fallback.
+     *
+     * @param primaryCall  Starts one attempt on the primary provider with the given timeout.
+     * @param fallbackCall Starts the fallback with the remaining time, or null for no fallback.
+     * @param canStartOver Tells whether the call may still be retried or handed to the fallback.
+     * @param timeout      The deadline for the whole call, including retries.
+     * @param <T>          The type of the result.
+     * @return A future completing with the result; cancelling it cancels the running attempt.
+     */
+    private <T> CompletableFuture<T> execute(Function<Duration, CompletableFuture<T>> primaryCall,
+                                             Function<Duration, CompletableFuture<T>> fallbackCall,
+                                             BooleanSupplier canStartOver, Duration timeout) {
+        calls.incrementAndGet();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> running = new AtomicReference<>();
+        result.whenComplete((value, error) -> {
+            CompletableFuture<T> attempt = running.get();
+            if (result.isCancelled() && attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+        attempt(1, primaryCall, fallbackCall, canStartOver, deadline, result, running);
+        return result;
+    }
+
+    /**
+     * Starts one attempt of a call and schedules the next one if it fails.
+     */
+    private <T> void attempt(int attempt, Function<Duration, CompletableFuture<T>> primaryCall,
+                             Function<Duration, CompletableFuture<T>> fallbackCall, BooleanSupplier canStartOver,
+                             long deadline, CompletableFuture<T> result, AtomicReference<CompletableFuture<T>> running) {
+        if (result.isDone()) {
+            return; // Cancelled while waiting to retry
+        }
+        if (!allowRequest()) {
+            shortCircuits.incrementAndGet();
+            fail(new IOException("AI service is unavailable, the circuit breaker is open"),
+                    fallbackCall, canStartOver, deadline, result, running);
+            return;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            releaseTrial();
+            fail(new TimeoutException("AI request deadline expired"), fallbackCall, canStartOver, deadline, result, running);
+            return;
+        }
+
+        attempts.incrementAndGet();
+        Duration timeout = Duration.ofNanos(Math.min(attemptTimeout.toNanos(), remaining));
+        CompletableFuture<T> call = primaryCall.apply(timeout);
+        running.set(call);
+        call.whenComplete((value, error) -> {
+            if (result.isDone()) {
+                releaseTrial(); // Cancelled by the caller, which says nothing about the service
+                return;
+            }
+            if (error == null) {
+                recordSuccess();
+                successes.incrementAndGet();
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if (!isTransient(cause)) {
+                recordSuccess(); // The service answered, the request itself was wrong
+                fail(cause, fallbackCall, canStartOver, deadline, result, running);
+                return;
+            }
+            boolean circuitOpened = recordFailure();
+            if (attempt < maxAttempts && !circuitOpened && canStartOver.getAsBoolean()) {
+                long delayMillis = backoffMillis(attempt, cause);
+                if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) < deadline) {
+                    retries.incrementAndGet();
+                    CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() ->
+                            attempt(attempt + 1, primaryCall, fallbackCall, canStartOver, deadline, result, running));
+                    return;
+                }
+            }
+            fail(cause, fallbackCall, canStartOver, deadline, result, running);
+        });
+    }
+
+    /**
+     * Gives up on the primary provider: hands the call to the fallback if there is one and
+     * nothing was streamed yet, otherwise fails the call.
+     */
+    private <T> void fail(Throwable cause, Function<Duration, CompletableFuture<T>> fallbackCall,
+                          BooleanSupplier canStartOver, long deadline, CompletableFuture<T> result,
+                          AtomicReference<CompletableFuture<T>> running) {
+        failures.incrementAndGet();
+        if (fallbackCall == null || !canStartOver.getAsBoolean()) {
+            result.completeExceptionally(cause);
+            return;
+        }
+
+        fallbacks.incrementAndGet();
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        CompletableFuture<T> call = fallbackCall.apply(Duration.ofNanos(remaining));
+        running.set(call);
+        call.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * Computes the delay before the next attempt: exponential backoff with equal jitter,
+     * i.e. a random delay between half and all of the backoff, but at least Retry-After.
+     *
+     * @param attempt The number of the attempt that failed, starting at 1.
+     * @param cause   Why it failed.
+     * @return The delay in milliseconds.
+     */
+    private long backoffMillis(int attempt, Throwable cause) {
+        long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 30));
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        if (cause instanceof AIRequestException && ((AIRequestException) cause).getRetryAfter() != null) {
+            delay = Math.max(delay, ((AIRequestException) cause).getRetryAfter().toMillis());
+        }
+        return delay;
+    }
+
+    /**
+     * Checks whether a failure is temporary and worth retrying.
+     *
+     * @param cause The failure.
+     * @return True for rate limits, server errors, I/O errors and timeouts.
+     */
+    private static boolean isTransient(Throwable cause) {
+        if (cause instanceof AIRequestException) {
+            return ((AIRequestException) cause).isTransient();
+        }
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    /**
+     * Removes the CompletionException or ExecutionException wrapping a failure.
+     *
+     * @param error The failure as reported by a future.
+     * @return The underlying cause.
+     */
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Checks with the circuit breaker whether an attempt may go to the primary provider.
+     *
+     * @return True if the attempt may be made.
+     */
+    private synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = CircuitState.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false; // Only one trial at a time
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records an attempt that reached the service, which closes the circuit.
+     */
+    private synchronized void recordSuccess() {
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Records a failed attempt, opening the circuit after too many in a row or a failed trial.
+     *
+     * @return True if the circuit is open, so retrying is pointless.
+     */
+    private synchronized boolean recordFailure() {
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || (state == CircuitState.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+            circuitOpenings.incrementAndGet();
+        }
+        return state == CircuitState.OPEN;
+    }
+
+    /**
+     * Lets another trial through after a trial attempt ended without a verdict.
+     */
+    private synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    /**
+     * Wraps the tasks produced by the fallback provider, so isFallback can recognise them.
+     * Callers may still change the list; the changes go to a copy of the fallback's tasks.
+     */
+    private static final class FallbackTasks extends AbstractList<Task> implements RandomAccess {
+        private final List<Task> tasks;
+
+        FallbackTasks(List<Task> tasks) {
+            this.tasks = new ArrayList<>(tasks);
+        }
+
+        @Override
+        public Task get(int index) {
+            return tasks.get(index);
+        }
+
+        @Override
+        public int size() {
+            return tasks.size();
+        }
+
+        @Override
+        public Task set(int index, Task task) {
+            return tasks.set(index, task);
+        }
+
+        @Override
+        public void add(int index, Task task) {
+            tasks.add(index, task);
+            modCount++;
+        }
+
+        @Override
+        public Task remove(int index) {
+            modCount++;
+            return tasks.remove(index);
+        }
+    }
+
+    /**
+     * A snapshot of the counters of a ResilientAIProvider.
+     */
+    public static class Metrics {
+        private final long calls;
+        private final long attempts;
+        private final long retries;
+        private final long successes;
+        private final long failures;
+        private final long shortCircuits;
+        private final long fallbacks;
+        private final long circuitOpenings;
+
+        Metrics(long calls, long attempts, long retries, long successes, long failures,
+                long shortCircuits, long fallbacks, long circuitOpenings) {
+            this.calls = calls;
+            this.attempts = attempts;
+            this.retries = retries;
+            this.successes = successes;
+            this.failures = failures;
+            this.shortCircuits = shortCircuits;
+            this.fallbacks = fallbacks;
+            this.circuitOpenings = circuitOpenings;
+        }
+
+        /** @return The number of calls made. */
+        public long getCalls() {
+            return calls;
+        }
+
+        /** @return The number of attempts sent to the primary provider. */
+        public long getAttempts() {
+            return attempts;
+        }
+
+        /** @return The number of attempts that were retries. */
+        public long getRetries() {
+            return retries;
+        }
+
+        /** @return The number of calls the primary provider answered. */
+        public long getSuccesses() {
+            return successes;
+        }
+
+        /** @return The number of calls the primary provider could not answer. */
+        public long getFailures() {
+            return failures;
+        }
+
+        /** @return The number of calls rejected by the open circuit. */
+        public long getShortCircuits() {
+            return shortCircuits;
+        }
+
+        /** @return The number of calls handed to the fallback provider. */
+        public long getFallbacks() {
+            return fallbacks;
+        }
+
+        /** @return The number of times the circuit opened. */
+        public long getCircuitOpenings() {
+            return circuitOpenings;
+        }
+
+        @Override
+        public String toString() {
+            return "calls=" + calls + ", attempts=" + attempts + ", retries=" + retries + ", successes=" + successes
+                    + ", failures=" + failures + ", shortCircuits=" + shortCircuits + ", fallbacks=" + fallbacks
+                    + ", circuitOpenings=" + circuitOpenings;
+        }
+    }
+}
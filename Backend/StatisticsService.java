@@ -1,8 +1,5 @@
 package Backend;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -22,153 +19,129 @@ import Backend.CsvEditor;
  * Change Log:
  * Version 1.0 (10/30/2024):
  * - Updated placeholder functions/code, added a method to increment number of tasks a user has started
+ * Version 1.1 (10/17/2026):
+ * - Added calculateGoalStatistics, which computes every goal statistic in one pass over the tasks
+ *   and one pass over the time logs; the per-statistic methods are answered from that snapshot
+ * - Weekly logged time is bucketed in minutes using epoch days, added groupLoggedMinutesByWeek
  */
 public class StatisticsService {
-    private static final String LOGGED_TIME_FILE = "UserData/loggedTime.csv";
-
 
     /**
-     * Calculates the task completion percentage for a user.
+     * Computes a complete statistics snapshot for a goal of a user. The goal's tasks and
+     * its time logs are each walked exactly once.
      *
      * @param username The username of the user.
-     * @return Completion percentage as a double.
+     * @param goalName The name of the goal.
+     * @return A GoalStatistics snapshot for the goal.
      */
-    public double calculateTaskCompletionPercentage(String username, String goalName) {
-        CsvEditor.ensureDirectoryExists("UserData/tasks.csv");
+    public GoalStatistics calculateGoalStatistics(String username, String goalName) {
+        CsvRepository repository = CsvRepository.getInstance();
+        CsvRepository.GoalRecord goal = repository.goal(username, goalName);
+        String dueDate = (goal != null) ? goal.dueDate : null;
+        String startDate = (goal != null) ? goal.startDate : null;
 
+        // Single pass over the tasks: completion, estimated time and incomplete tasks
         int totalTasks = 0;
         int completedTasks = 0;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader("UserData/tasks.csv"))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length >= 8 && columns[0].equals(username) && columns[1].equals(goalName)) {
-                    totalTasks++; // Count every task
-                    if (Boolean.parseBoolean(columns[7].trim())) { // Check if task is complete
-                        completedTasks++;
-                    }
-                }
+        int estimatedHours = 0;
+        int estimatedMinutes = 0;
+        List<Task> incompleteTasks = new ArrayList<>();
+        for (Task task : repository.tasks(username, goalName)) {
+            totalTasks++;
+            estimatedHours += task.getTimeToCompleteHours();
+            estimatedMinutes += task.getTimeToCompleteMinutes();
+            if (task.isComplete()) {
+                completedTasks++;
+            } else {
+                incompleteTasks.add(task);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
 
-        // Calculate the completion percentage (ensure it's valid based on tasks)
-        double completionPercentage;
-        if (totalTasks > 0) {
-            completionPercentage = ((double) completedTasks / totalTasks) * 100;
-        } else {
-            completionPercentage = 0.0;
+        // Single pass over the time logs: total logged time and weekly buckets
+        int loggedHours = 0;
+        int loggedMinutes = 0;
+        Map<Long, Integer> weeklyLoggedMinutes = new TreeMap<>();
+        long startEpochDay = EpochDays.parse(startDate); // Resolved once per goal
+        for (CsvRepository.LogRecord log : repository.logs(username, goalName)) {
+            loggedHours += log.hours;
+            loggedMinutes += log.minutes;
+
+            if (startEpochDay != EpochDays.INVALID && log.epochDay != EpochDays.INVALID) {
+                // Same truncation towards zero as ChronoUnit.WEEKS.between
+                long weekNumber = (log.epochDay - startEpochDay) / 7;
+                weeklyLoggedMinutes.merge(weekNumber, log.hours * 60 + log.minutes, Integer::sum);
+            }
         }
 
+        // Convert minutes to hours if minutes >= 60
+        int[] totalTimeToComplete = {estimatedHours + estimatedMinutes / 60, estimatedMinutes % 60};
+        int[] loggedTime = {loggedHours + loggedMinutes / 60, loggedMinutes % 60};
+
+        return new GoalStatistics(goalName, dueDate, startDate, totalTasks, completedTasks,
+                totalTimeToComplete, loggedTime, incompleteTasks, weeklyLoggedMinutes);
+    }
+
+    /**
+     * Calculates the task completion percentage for a user.
+     *
+     * @param username The username of the user.
+     * @return Completion percentage as a double.
+     */
+    public double calculateTaskCompletionPercentage(String username, String goalName) {
+        double completionPercentage = calculateGoalStatistics(username, goalName).getCompletionPercentage();
+
         System.out.printf("Completion percentage for goal '%s' by user '%s': %.2f%%\n", goalName, username, completionPercentage);
         return completionPercentage;
     }
 
     /**
      * Calculates the total time to complete a goal for a user.
-     * The method reads the "tasks.csv" file and sums up the hours and minutes for all tasks related to the given username and goalName.
-     * It then converts any excess minutes into hours.
+     * The hours and minutes of all tasks related to the given username and goalName are summed,
+     * and any excess minutes are converted into hours.
      *
      * @param username The username of the user.
      * @param goalName The name of the goal.
      * @return An array where the first element is the total hours and the second element is the remaining minutes.
      */
     public int[] calculateTotalTimeToComplete(String username, String goalName) {
-        // Ensure the TASKS_FILE exists
-        CsvEditor.ensureDirectoryExists("UserData/tasks.csv");
-
-        int totalHours = 0;
-        int totalMinutes = 0;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader("UserData/tasks.csv"))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length >= 8 && columns[0].equals(username) && columns[1].equals(goalName)) {
-                    // Parse timeToCompleteHours and timeToCompleteMinutes
-                    int timeToCompleteHours = Integer.parseInt(columns[3].trim());
-                    int timeToCompleteMinutes = Integer.parseInt(columns[4].trim());
-
-                    // Accumulate time
-                    totalHours += timeToCompleteHours;
-                    totalMinutes += timeToCompleteMinutes;
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        // Convert minutes to hours if totalMinutes >= 60
-        totalHours += totalMinutes / 60;
-        totalMinutes = totalMinutes % 60;
-
-        // Return total hours and minutes as an array
-        return new int[]{totalHours, totalMinutes};
+        return calculateGoalStatistics(username, goalName).getTotalTimeToComplete();
     }
 
     /**
      * Retrieves all the incomplete tasks for a specific user and goal.
-     * The method reads the "tasks.csv" file and checks for tasks that are not yet completed.
+     * The tasks that are not yet completed are taken from the goal's statistics snapshot.
      *
      * @param username The username of the user.
      * @param goalName The name of the goal.
      * @return A list of Task objects that are still incomplete.
      */
     public List<Task> getIncompleteTasks(String username, String goalName) {
-        CsvEditor.ensureDirectoryExists("UserData/tasks.csv");
-
-        List<Task> incompleteTasks = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader("UserData/tasks.csv"))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length >= 8 && columns[0].equals(username) && columns[1].equals(goalName)) {
-                    if (!Boolean.parseBoolean(columns[7].trim())) { // If task is not complete
-                        incompleteTasks.add(Task.fromCsvRow(columns));
-                    }
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return incompleteTasks;
+        return new ArrayList<>(calculateGoalStatistics(username, goalName).getIncompleteTasks());
     }
 
     /**
      * Groups the logged time by week for a specific goal and user.
-     * The method reads the "loggedTime.csv" file, calculates the week number relative to the start date of the goal,
-     * and aggregates the logged hours and minutes by week.
+     * The week number of each time log is calculated relative to the start date of the goal,
+     * and the logged hours and minutes are aggregated by week.
      *
      * @param goalName The name of the goal.
      * @param username The username of the user.
      * @return A map where the key is the week number and the value is the total logged time in that week.
      */
     public Map<Long, Integer> groupLoggedTimeByWeek(String goalName, String username) {
-        Map<Long, Integer> weeklyLoggedTime = new HashMap<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader("UserData/loggedTime.csv"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns[0].equals(username) && columns[1].equals(goalName)) {
-                    String logDate = columns[5];
-                    int hours = Integer.parseInt(columns[3]);
-                    int minutes = Integer.parseInt(columns[4]);
-
-                    LocalDate logDateParsed = LocalDate.parse(logDate);
-                    LocalDate startDateParsed = LocalDate.parse(Objects.requireNonNull(CsvEditor.readGoalStartDate(username, goalName)));
+        return new TreeMap<>(calculateGoalStatistics(username, goalName).getWeeklyLoggedTime());
+    }
 
-                    long weekNumber = ChronoUnit.WEEKS.between(startDateParsed, logDateParsed);
-                    weeklyLoggedTime.put(weekNumber, weeklyLoggedTime.getOrDefault(weekNumber, 0) + hours + (minutes / 60));
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return weeklyLoggedTime;
+    /**
+     * Groups the logged time by week for a specific goal and user, in minutes.
+     * Unlike groupLoggedTimeByWeek, no time is lost to rounding down to whole hours.
+     *
+     * @param goalName The name of the goal.
+     * @param username The username of the user.
+     * @return A map where the key is the week number and the value is the total logged minutes in that week.
+     */
+    public Map<Long, Integer> groupLoggedMinutesByWeek(String goalName, String username) {
+        return new TreeMap<>(calculateGoalStatistics(username, goalName).getWeeklyLoggedMinutes());
     }
 
     /**
@@ -270,34 +243,6 @@ public class StatisticsService {
      * @return An array with total hours [0] and total minutes [1] spent by the user on the specified goal.
      */
     public int[] calculateLoggedTime(String username, String goalName) {
-        CsvEditor.ensureDirectoryExists(LOGGED_TIME_FILE);
-
-        int totalHours = 0;
-        int totalMinutes = 0;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(LOGGED_TIME_FILE))) {
-            String line = reader.readLine(); // Skip header (if there is one)
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length >= 5 && columns[0].equals(username) && columns[1].equals(goalName)) {
-                    // Parse logged time hours and minutes
-                    int loggedHours = Integer.parseInt(columns[3].trim());
-                    int loggedMinutes = Integer.parseInt(columns[4].trim());
-
-                    // Accumulate time
-                    totalHours += loggedHours;
-                    totalMinutes += loggedMinutes;
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        // Convert minutes to hours if totalMinutes >= 60
-        totalHours += totalMinutes / 60;
-        totalMinutes = totalMinutes % 60;
-
-        // Return total hours and minutes as an array
-        return new int[]{totalHours, totalMinutes};
+        return calculateGoalStatistics(username, goalName).getLoggedTime();
     }
-}
\ No newline at end of file
+}
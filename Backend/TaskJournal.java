@@ -0,0 +1,169 @@
+package Backend;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>TaskJournal Class</h1>
+ * The TaskJournal class keeps tasks.csv up to date without rewriting it on every change.
+ * Each task update is appended to a journal file as the full, updated task row, and the
+ * journal is periodically folded back into a fresh tasks.csv snapshot (compaction).
+ *
+ * <p>Usage:
+ * CsvEditor appends a row for every task it changes. Compaction runs on a background
+ * thread a short while after the first pending change, when the journal grows large,
+ * and once more when the application shuts down. On startup, CsvRepository replays any
+ * journal left behind so no change is lost. Because every entry is an absolute task
+ * state, replaying an entry that is already part of the snapshot is harmless.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Backend
+ */
+class TaskJournal {
+
+    static final String JOURNAL_FILE = "UserData/taskJournal.csv";
+    // Journal being folded into tasks.csv by a compaction in progress
+    private static final String COMPACTING_FILE = JOURNAL_FILE + ".compacting";
+    private static final String SNAPSHOT_TEMP_FILE = CsvEditor.TASKS_FILE + ".tmp";
+
+    private static final int COMPACT_AFTER_ENTRIES = 200;
+    private static final long COMPACT_DELAY_SECONDS = 30;
+
+    // Guards the journal and every write to tasks.csv
+    static final Object LOCK = new Object();
+
+    private static final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tasks-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static int pendingEntries = 0;
+    private static boolean compactionScheduled = false;
+
+    static {
+        // Leave a fresh snapshot behind when the application exits
+        Runtime.getRuntime().addShutdownHook(new Thread(TaskJournal::compact, "tasks-compactor-shutdown"));
+    }
+
+    /**
+     * Appends updated task rows to the journal and schedules a compaction if needed.
+     *
+     * @param taskRows The full CSV rows of the tasks that changed.
+     */
+    static void append(List<String> taskRows) {
+        if (taskRows.isEmpty()) {
+            return;
+        }
+        synchronized (LOCK) {
+            CsvEditor.ensureDirectoryExists(JOURNAL_FILE);
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(JOURNAL_FILE, true))) {
+                for (String taskRow : taskRows) {
+                    writer.write(taskRow);
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+
+            pendingEntries += taskRows.size();
+            if (pendingEntries >= COMPACT_AFTER_ENTRIES) {
+                compactor.execute(TaskJournal::compact);
+            } else if (!compactionScheduled) {
+                compactionScheduled = true;
+                compactor.schedule(TaskJournal::compact, COMPACT_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Replays journal entries left over from a previous run into the repository.
+     * An interrupted compaction's journal is replayed first, then the live journal.
+     *
+     * @param repository The repository that was just loaded from tasks.csv.
+     */
+    static void replay(CsvRepository repository) {
+        synchronized (LOCK) {
+            for (String journalFile : new String[]{COMPACTING_FILE, JOURNAL_FILE}) {
+                if (!new File(journalFile).exists()) {
+                    continue;
+                }
+                try (BufferedReader reader = new BufferedReader(new FileReader(journalFile))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        repository.applyTaskRow(line);
+                        pendingEntries++;
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the repository's task rows to a fresh tasks.csv and clears the journal.
+     * Does nothing if no change is pending.
+     */
+    static void compact() {
+        // Loading the repository replays the journal under LOCK, so get it before taking LOCK
+        CsvRepository repository = CsvRepository.getInstance();
+        synchronized (LOCK) {
+            compactionScheduled = false;
+            if (pendingEntries == 0) {
+                return;
+            }
+            writeSnapshot(repository.taskLines());
+        }
+    }
+
+    /**
+     * Replaces tasks.csv with the given rows and discards the journal, whose entries are
+     * all contained in the new snapshot. Callers must hold LOCK.
+     *
+     * @param taskLines The data lines of the new tasks.csv (without header).
+     */
+    static void writeSnapshot(List<String> taskLines) {
+        try {
+            // Set the journal aside so a crash mid-write can still replay it
+            Path journal = Paths.get(JOURNAL_FILE);
+            Path compacting = Paths.get(COMPACTING_FILE);
+            if (Files.exists(journal)) {
+                Files.move(journal, compacting, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // Write the snapshot next to tasks.csv, then swap it in atomically
+            CsvEditor.ensureDirectoryExists(SNAPSHOT_TEMP_FILE);
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(SNAPSHOT_TEMP_FILE))) {
+                writer.write(CsvEditor.TASKS_HEADER);
+                writer.newLine();
+                for (String taskLine : taskLines) {
+                    writer.write(taskLine);
+                    writer.newLine();
+                }
+            }
+            Files.move(Paths.get(SNAPSHOT_TEMP_FILE), Paths.get(CsvEditor.TASKS_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Files.deleteIfExists(compacting);
+            pendingEntries = 0;
+            System.out.println("Compacted task journal into " + CsvEditor.TASKS_FILE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
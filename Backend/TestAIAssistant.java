@@ -1,8 +1,32 @@
 package Backend;
 
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import Backend.AIAssistant;
 import Backend.Task;
 
@@ -21,6 +45,17 @@ import Backend.Task;
  * - Created tester for the AIAssistant class
  * Version 2.0 (11/16/2024):
  * - Update to match new version of AIAssistant
+ * Version 2.1 (10/17/2026):
+ * - Test getTasksAIAsync, its timeout and cancellation against a local stub server
+ * - Test connection reuse and the concurrency limit of HttpClientManager
+ * - Test that cached goal breakdowns cost no API calls, and that the cache can be bypassed
+ * - Test the streaming JSON content extractor
+ * - Test streamTasksAIAsync against a local server-sent events stub
+ * - Test that getTasksAIBatchAsync batches goals and isolates the failure of one goal
+ * - Test selecting the offline LocalTaskProvider and the plans it builds
+ * - Test retries, Retry-After, the circuit breaker and the fallback of ResilientAIProvider against a fault-injecting stub
+ * - Test that JsonWriter escapes prompts, and that goal names with quotes and line breaks reach the API intact
+ * - Test that AITaskParser reads answers that stray from the requested format and reports the lines it rejects
  */
 
 public class TestAIAssistant {
@@ -33,33 +68,744 @@ public class TestAIAssistant {
      * @param args Command-line arguments (not used in this test).
      */
     public static void main(String[] args) {
-        // Load environment variables from the .env file to configure API keys and other settings
-        String envFilePath = ".env"; // The path to the .env file (adjust as needed)
-        AIAssistant.loadEnvFile(envFilePath); // Loading the environment file
+        // Generated tasks are cached in a temporary file, so the tests never write to the user's cache under UserData
+        File cacheFile = new File(System.getProperty("java.io.tmpdir"), "aiTaskCache-test-" + System.nanoTime() + ".csv");
+        AITaskCache userCache = AITaskCache.setInstance(new AITaskCache(cacheFile.getPath(), 200, Duration.ofDays(30)));
+        try {
+            // Test the asynchronous API against a local stub server first, without needing an API key
+            // The stub tests exercise OpenAIProvider itself, without the retries and fallback of the default provider
+            AIAssistant.setProvider(new OpenAIProvider());
+            testGetTasksAIAsyncWithStub();
+            testHttpClientManagerWithStub();
+            testTaskCacheWithStub();
+            testJsonContentExtractor();
+            testStreamTasksWithStub();
+            testJsonWriterWithStub();
+            testAITaskParser();
+            testBatchTasksWithStub();
+            testLocalProvider();
+            testResilientProviderWithStub();
+
+            // Load environment variables from the .env file to configure API keys and other settings
+            String envFilePath = ".env"; // The path to the .env file (adjust as needed)
+            AIAssistant.loadEnvFile(envFilePath); // Loading the environment file
+
+            // Set a goal and display the corresponding due date
+            System.out.println("Using AI to get tasks for a goal...");
+            LocalDate dueDate = LocalDate.of(2024, 12, 31); // Set the due date for the goal
+            System.out.println("Due Date: " + dueDate); // Display the due date
+
+            try {
+                // Generate the list of tasks using the AIAssistant for the goal "Learn to code in Python"
+                ArrayList<Task> taskList = AIAssistant.getTasksAI("Learn to code in Python", dueDate);
+
+                // Check if the task list is null or empty, indicating a problem in generating tasks
+                if (taskList == null || taskList.isEmpty()) {
+                    System.out.println("No tasks generated or an error occurred.");
+                } else {
+                    // If tasks are generated, print each task
+                    System.out.println("Generated Tasks:");
+                    for (Task task : taskList) {
+                        System.out.println(task); // Print each task's details
+                    }
+                }
+            } catch (Exception e) {
+                // If an error occurs while generating tasks, catch and display the exception details
+                System.err.println("An error occurred while generating tasks: " + e.getMessage());
+                e.printStackTrace(); // Print the stack trace for debugging
+            }
+        } finally {
+            AITaskCache.setInstance(userCache);
+            cacheFile.delete();
+        }
+    }
+
+    /**
+     * Tests getTasksAIAsync against a local HTTP server standing in for the API:
+     * a normal response, a response slower than the timeout, and a cancelled request.
+     */
+    public static void testGetTasksAIAsyncWithStub() {
+        System.out.println("\n--- Test: Asynchronous task generation with a stub server ---");
+        String stubResponse = "{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": \""
+                + "task name, hours, minutes\\nRead the basics, 2, 30\\nWrite a program, 3, 0\"}}]}";
+        long[] delayMillis = {0};
+
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            System.out.println("Could not start the stub server: " + e.getMessage());
+            return;
+        }
+        server.createContext("/v1/chat/completions", exchange -> {
+            try {
+                Thread.sleep(delayMillis[0]);
+                byte[] body = stubResponse.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException | IOException e) {
+                // The client went away, nothing to answer
+            } finally {
+                exchange.close();
+            }
+        });
+        ExecutorService serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+
+        String previousUrl = System.getProperty("OPENAI_API_URL");
+        System.setProperty("OPENAI_API_URL", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        LocalDate dueDate = LocalDate.now().plusWeeks(4);
+        try {
+            // Normal response
+            List<Task> tasks = AIAssistant.getTasksAIAsync("Learn to code in Python", dueDate, AIAssistant.DEFAULT_TIMEOUT, true)
+                    .get(10, TimeUnit.SECONDS);
+            boolean parsed = tasks.size() == 2 && tasks.get(0).getTimeToCompleteMinutes() == 30;
+            System.out.println("Stub response parsed into " + tasks.size() + " tasks: " + (parsed ? "PASS" : "FAIL"));
+
+            // Slower than the timeout
+            delayMillis[0] = 2000;
+            try {
+                AIAssistant.getTasksAIAsync("Learn to code in Python", dueDate, Duration.ofMillis(200), true).get(10, TimeUnit.SECONDS);
+                System.out.println("Timeout: FAIL (no timeout)");
+            } catch (ExecutionException e) {
+                System.out.println("Timeout: " + (e.getCause() instanceof TimeoutException ? "PASS" : "FAIL (" + e.getCause() + ")"));
+            }
+
+            // Cancelled while waiting
+            CompletableFuture<List<Task>> pending =
+                    AIAssistant.getTasksAIAsync("Learn to code in Python", dueDate, AIAssistant.DEFAULT_TIMEOUT, true);
+            pending.cancel(true);
+            System.out.println("Cancellation: " + (pending.isCancelled() ? "PASS" : "FAIL"));
+        } catch (Exception e) {
+            System.out.println("Asynchronous task generation: FAIL (" + e + ")");
+        } finally {
+            if (previousUrl == null) {
+                System.clearProperty("OPENAI_API_URL");
+            } else {
+                System.setProperty("OPENAI_API_URL", previousUrl);
+            }
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests HttpClientManager against a local HTTP server that records the connection each
+     * request arrives on and how many requests it is serving at once.
+     */
+    public static void testHttpClientManagerWithStub() {
+        System.out.println("\n--- Test: Shared HttpClient with a stub server ---");
+        Set<String> connections = ConcurrentHashMap.newKeySet();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            System.out.println("Could not start the stub server: " + e.getMessage());
+            return;
+        }
+        server.createContext("/", exchange -> {
+            // Each connection has its own client port
+            connections.add(exchange.getRemoteAddress().toString());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                // Server is stopping
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        // Streams one chunk, then holds the body open until the test ends
+        CountDownLatch streamsReleased = new CountDownLatch(1);
+        server.createContext("/stream", exchange -> {
+            exchange.sendResponseHeaders(200, 0); // Chunked
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("data: {}\n\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                streamsReleased.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException | IOException e) {
+                // Client went away or server is stopping
+            } finally {
+                exchange.close();
+            }
+        });
+        ExecutorService serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+
+        ExecutorService clientThreads = Executors.newFixedThreadPool(2);
+        try {
+            HttpClientManager manager = new HttpClientManager(clientThreads, 2);
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                    .build();
+            Duration timeout = Duration.ofSeconds(10);
+
+            // Sequential requests share one connection
+            for (int i = 0; i < 5; i++) {
+                manager.send(request, timeout);
+            }
+            System.out.println("5 sequential requests used " + connections.size() + " connection(s): "
+                    + (connections.size() == 1 ? "PASS" : "FAIL"));
+
+            // Parallel requests never exceed the concurrency limit
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                responses.add(manager.sendAsync(request, timeout));
+            }
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).get(20, TimeUnit.SECONDS);
+            System.out.println("6 parallel requests, at most " + maxInFlight.get() + " at once with a limit of 2: "
+                    + (maxInFlight.get() <= 2 ? "PASS" : "FAIL"));
+            System.out.println("Connections opened in total: " + connections.size());
+
+            // A streamed body keeps its slot until its stream is closed
+            HttpClientManager streamingManager = new HttpClientManager(clientThreads, 1);
+            HttpRequest streamRequest = HttpRequest.newBuilder()
+                    .uri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/stream"))
+                    .build();
+            HttpResponse<InputStream> firstStream = streamingManager
+                    .sendAsync(streamRequest, HttpResponse.BodyHandlers.ofInputStream(), timeout).get(10, TimeUnit.SECONDS);
+            CompletableFuture<HttpResponse<InputStream>> secondStream = streamingManager
+                    .sendAsync(streamRequest, HttpResponse.BodyHandlers.ofInputStream(), timeout);
+            Thread.sleep(300);
+            boolean heldBack = !secondStream.isDone();
+            firstStream.body().close();
+            secondStream.get(10, TimeUnit.SECONDS).body().close();
+            System.out.println("Second stream waited until the first one was closed: " + (heldBack ? "PASS" : "FAIL"));
+        } catch (Exception e) {
+            System.out.println("Shared HttpClient: FAIL (" + e + ")");
+        } finally {
+            streamsReleased.countDown();
+            server.stop(0);
+            serverThreads.shutdownNow();
+            clientThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests the AI task cache against a local HTTP server that counts API calls: a repeated
+     * goal, written differently, is answered from the cache, while a bypass asks the server.
+     */
+    public static void testTaskCacheWithStub() {
+        System.out.println("\n--- Test: AI task cache with a stub server ---");
+        String stubResponse = "{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": \""
+                + "task name, hours, minutes\\nInstall Python, 0, 30\\nWrite hello world, 0, 15\"}}]}";
+        AtomicInteger apiCalls = new AtomicInteger();
+
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            System.out.println("Could not start the stub server: " + e.getMessage());
+            return;
+        }
+        server.createContext("/v1/chat/completions", exchange -> {
+            apiCalls.incrementAndGet();
+            byte[] body = stubResponse.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        String previousUrl = System.getProperty("OPENAI_API_URL");
+        System.setProperty("OPENAI_API_URL", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        // A horizon no other test uses, so nothing is cached for it yet
+        LocalDate dueDate = LocalDate.now().plusDays(1000);
+        try {
+            List<Task> first = AIAssistant.getTasksAIAsync("Learn Python", dueDate).get(10, TimeUnit.SECONDS);
+            List<Task> cached = AIAssistant.getTasksAIAsync("  learn   PYTHON ", dueDate).get(10, TimeUnit.SECONDS);
+            System.out.println("Repeated goal answered from the cache: "
+                    + (apiCalls.get() == 1 && cached.size() == first.size() ? "PASS" : "FAIL (" + apiCalls.get() + " calls)"));
+
+            AIAssistant.getTasksAIAsync("Learn Python", dueDate, AIAssistant.DEFAULT_TIMEOUT, true).get(10, TimeUnit.SECONDS);
+            System.out.println("Bypass asks the AI again: " + (apiCalls.get() == 2 ? "PASS" : "FAIL"));
+        } catch (Exception e) {
+            System.out.println("AI task cache: FAIL (" + e + ")");
+        } finally {
+            if (previousUrl == null) {
+                System.clearProperty("OPENAI_API_URL");
+            } else {
+                System.setProperty("OPENAI_API_URL", previousUrl);
+            }
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Tests JsonContentExtractor on escaped quotes, backslashes, unicode escapes and a
+     * surrogate pair, and checks that lines are delivered before the body is fully read.
+     */
+    public static void testJsonContentExtractor() {
+        System.out.println("\n--- Test: Streaming JSON content extractor ---");
+        String json = "{\"id\": \"chat-1\", \"note\": \"not \\\"content\\\" here\", \"choices\": [{\"index\": 0, "
+                + "\"message\": {\"role\": \"assistant\", \"content\": \"task name, hours, minutes\\n"
+                + "Say \\\"caf\\u00e9\\\" \\ud83d\\ude00, 1, 0\\nUse C:\\\\temp\\/files, 0, 45\"}}], "
+                + "\"usage\": {\"total_tokens\": 42}}";
+        String expected = "task name, hours, minutes\nSay \"caf\u00e9\" \ud83d\ude00, 1, 0\nUse C:\\temp/files, 0, 45";
+
+        try {
+            // Count how much of the body was read when the first line arrived
+            int[] charsRead = {0};
+            int[] charsReadAtFirstLine = {-1};
+            Reader body = new Reader() {
+                private final StringReader source = new StringReader(json);
+
+                @Override
+                public int read(char[] buffer, int offset, int length) throws IOException {
+                    int count = source.read(buffer, offset, Math.min(length, 8)); // Arrives in small chunks
+                    charsRead[0] += Math.max(count, 0);
+                    return count;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            List<String> lines = new ArrayList<>();
+            String content = JsonContentExtractor.extract(body, line -> {
+                if (lines.isEmpty()) {
+                    charsReadAtFirstLine[0] = charsRead[0];
+                }
+                lines.add(line);
+            });
+
+            System.out.println("Escapes decoded: " + (expected.equals(content) ? "PASS" : "FAIL (" + content + ")"));
+            System.out.println("Lines delivered: " + (lines.size() == 3 && lines.get(1).startsWith("Say") ? "PASS" : "FAIL (" + lines + ")"));
+            System.out.println("First line before the body was read: "
+                    + (charsReadAtFirstLine[0] < json.length() ? "PASS" : "FAIL"));
+            System.out.println("Task from escaped line: " + AIAssistant.parseTaskLine(lines.get(2)).getTaskName());
+        } catch (IOException e) {
+            System.out.println("Streaming JSON content extractor: FAIL (" + e + ")");
+        }
+    }
+
+    /**
+     * Tests streamTasksAIAsync against a local server-sent events stub. The stub splits the
+     * answer into chunks that cut lines in half, and holds back the rest of the stream until
+     * the first task has reached the listener, so the test only passes if tasks are handed
+     * out while the response is still arriving.
+     */
+    public static void testStreamTasksWithStub() {
+        System.out.println("\n--- Test: Streaming task generation with a server-sent events stub ---");
+        String[] firstChunks = {"task name, hours, ", "minutes\\nRead the", " basics, 2, 30\\n"};
+        String[] laterChunks = {"Write a program, 3", ", 0\\nReview, 1, 15"};
+        CountDownLatch firstTaskReceived = new CountDownLatch(1);
+        boolean[] streamHeldBack = {false};
+
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            System.out.println("Could not start the stub server: " + e.getMessage());
+            return;
+        }
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0); // Chunked
+            try (OutputStream out = exchange.getResponseBody()) {
+                writeEvent(out, "{\"choices\": [{\"delta\": {\"role\": \"assistant\"}}]}");
+                for (String chunk : firstChunks) {
+                    writeEvent(out, "{\"choices\": [{\"delta\": {\"content\": \"" + chunk + "\"}}]}");
+                }
+                // Wait until the client has turned the first line into a task
+                streamHeldBack[0] = firstTaskReceived.await(5, TimeUnit.SECONDS);
+                for (String chunk : laterChunks) {
+                    writeEvent(out, "{\"choices\": [{\"delta\": {\"content\": \"" + chunk + "\"}}]}");
+                }
+                writeEvent(out, "[DONE]");
+            } catch (InterruptedException e) {
+                // Server is stopping
+            } finally {
+                exchange.close();
+            }
+        });
+        ExecutorService serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
 
-        // Set a goal and display the corresponding due date
-        System.out.println("Using AI to get tasks for a goal...");
-        LocalDate dueDate = LocalDate.of(2024, 12, 31); // Set the due date for the goal
-        System.out.println("Due Date: " + dueDate); // Display the due date
+        String previousUrl = System.getProperty("OPENAI_API_URL");
+        System.setProperty("OPENAI_API_URL", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        try {
+            List<String> streamed = new ArrayList<>();
+            List<Task> tasks = AIAssistant.streamTasksAIAsync("Learn to code in Python", LocalDate.now().plusWeeks(4),
+                    AIAssistant.DEFAULT_TIMEOUT, true, task -> {
+                        streamed.add(task.getTaskName());
+                        firstTaskReceived.countDown();
+                    }).get(20, TimeUnit.SECONDS);
 
+            System.out.println("First task arrived while the stream was open: " + (streamHeldBack[0] ? "PASS" : "FAIL"));
+            System.out.println("Streamed tasks " + streamed + ": "
+                    + (streamed.size() == 3 && tasks.size() == 3 && tasks.get(2).getTimeToCompleteMinutes() == 15 ? "PASS" : "FAIL"));
+        } catch (Exception e) {
+            System.out.println("Streaming task generation: FAIL (" + e + ")");
+        } finally {
+            if (previousUrl == null) {
+                System.clearProperty("OPENAI_API_URL");
+            } else {
+                System.setProperty("OPENAI_API_URL", previousUrl);
+            }
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that JsonWriter output decodes back to the original text, and that a goal name
+     * with quotes and a line break is sent as valid JSON with a token limit.
+     */
+    public static void testJsonWriterWithStub() {
+        System.out.println("\n--- Test: JSON request writer ---");
+        String awkward = "Say \"hi\"\\ to C:\\temp\nnext\tline \u0001 \u2028 caf\u00e9 \uD83D\uDE00";
+        String json = new JsonWriter().beginObject()
+                .name("model").value("m")
+                .name("messages").beginArray().beginObject().name("content").value(awkward).endObject().endArray()
+                .name("max_tokens").value(10)
+                .endObject().toString();
         try {
-            // Generate the list of tasks using the AIAssistant for the goal "Learn to code in Python"
-            ArrayList<Task> taskList = AIAssistant.getTasksAI("Learn to code in Python", dueDate);
+            String decoded = JsonContentExtractor.extract(new StringReader(json), null);
+            System.out.println("Escaped string round-trips: " + (awkward.equals(decoded) ? "PASS" : "FAIL (" + json + ")"));
+        } catch (IOException e) {
+            System.out.println("Escaped string round-trips: FAIL (" + e + ")");
+        }
+
+        String stubResponse = "{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": \""
+                + "task name, hours, minutes\\nRead the basics, 2, 30\"}}]}";
+        List<String> requestBodies = new ArrayList<>();
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            System.out.println("Could not start the stub server: " + e.getMessage());
+            return;
+        }
+        server.createContext("/v1/chat/completions", exchange -> {
+            requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] body = stubResponse.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        server.start();
 
-            // Check if the task list is null or empty, indicating a problem in generating tasks
-            if (taskList == null || taskList.isEmpty()) {
-                System.out.println("No tasks generated or an error occurred.");
+        String previousUrl = System.getProperty("OPENAI_API_URL");
+        System.setProperty("OPENAI_API_URL", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        String goal = "Learn \"C++\"\nfast";
+        try {
+            List<Task> tasks = AIAssistant.getTasksAIAsync(goal, LocalDate.now().plusDays(30), AIAssistant.DEFAULT_TIMEOUT, true)
+                    .get(10, TimeUnit.SECONDS);
+            String prompt = JsonContentExtractor.extract(new StringReader(requestBodies.get(0)), null);
+            System.out.println("Goal with quotes and a line break sent intact: "
+                    + (tasks.size() == 1 && prompt.contains("'" + goal + "'") ? "PASS" : "FAIL (" + requestBodies.get(0) + ")"));
+            System.out.println("Request limits the answer's tokens: "
+                    + (requestBodies.get(0).contains("\"max_tokens\":") ? "PASS" : "FAIL"));
+        } catch (Exception e) {
+            System.out.println("JSON request writer: FAIL (" + e + ")");
+        } finally {
+            if (previousUrl == null) {
+                System.clearProperty("OPENAI_API_URL");
             } else {
-                // If tasks are generated, print each task
-                System.out.println("Generated Tasks:");
-                for (Task task : taskList) {
-                    System.out.println(task); // Print each task's details
+                System.setProperty("OPENAI_API_URL", previousUrl);
+            }
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Tests the tolerant parser on an answer with no header, numbering, quoted names, units,
+     * carried-over minutes, a code fence and lines that are not tasks.
+     */
+    public static void testAITaskParser() {
+        System.out.println("\n--- Test: Tolerant AI task parser ---");
+        String answer = "```csv\n"
+                + "1. Install Python, 0, 30\n"
+                + "\"Read chapters 1, 2 and \"\"3\"\"\", 2, 0\n"
+                + "- Practice loops, 1h, 30 min\n"
+                + "Build a project, 2.5 hours\n"
+                + "Review, 0, 90\n"
+                + "Write notes, 1, 15, 3, 0\n"
+                + "\n"
+                + "Good luck with your goal!\n"
+                + "Rest, soon\n"
+                + "```";
+        AITaskParser parser = AITaskParser.parse(answer);
+        List<String> parsed = new ArrayList<>();
+        for (Task task : parser.getTasks()) {
+            parsed.add(task.getTaskName() + " " + task.getTimeToCompleteHours() + ":" + task.getTimeToCompleteMinutes());
+        }
+        List<String> expected = List.of("Install Python 0:30", "Read chapters 1 2 and \"3\" 2:0", "Practice loops 1:30",
+                "Build a project 2:30", "Review 1:30", "Write notes 1 15 3:0");
+        System.out.println("Tasks parsed without a header: " + (expected.equals(parsed) ? "PASS" : "FAIL " + parsed));
+        System.out.println("Rejected lines reported: "
+                + (parser.getRejectedLines().equals(List.of("Good luck with your goal!", "Rest, soon"))
+                ? "PASS" : "FAIL " + parser.getRejectedLines()));
+
+        AITaskParser withHeader = AITaskParser.parse("task name, hours, minutes\nInstall Python, 0, 30");
+        System.out.println("Header skipped: "
+                + (withHeader.getTasks().size() == 1 && withHeader.getRejectedLines().isEmpty() ? "PASS" : "FAIL"));
+    }
+
+    /**
+     * Tests getTasksAIBatchAsync against a local stub that answers a batch prompt for goals 1 and 3
+     * only, and fails every other request, so goal 2 is retried on its own and fails alone.
+     */
+    public static void testBatchTasksWithStub() {
+        System.out.println("\n--- Test: Batch goal breakdown with a stub server ---");
+        String batchResponse = "{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": \""
+                + "goal number, task name, hours, minutes\\n1, Read chapter one, 1, 0\\n1, Do exercises, 0, 45\\n"
+                + "3, Stretch, 0, 20\"}}]}";
+        AtomicInteger apiCalls = new AtomicInteger();
+
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            System.out.println("Could not start the stub server: " + e.getMessage());
+            return;
+        }
+        server.createContext("/v1/chat/completions", exchange -> {
+            apiCalls.incrementAndGet();
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            byte[] body = request.contains("Goal 1:") ? batchResponse.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            exchange.sendResponseHeaders(body.length > 0 ? 200 : 500, body.length > 0 ? body.length : -1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        String previousUrl = System.getProperty("OPENAI_API_URL");
+        System.setProperty("OPENAI_API_URL", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        // A horizon no other test uses, so nothing is cached for it yet
+        LocalDate dueDate = LocalDate.now().plusDays(3000);
+        List<GoalBreakdown.Request> goals = new ArrayList<>();
+        goals.add(new GoalBreakdown.Request("Read a book", dueDate));
+        goals.add(new GoalBreakdown.Request("Learn chess", dueDate));
+        goals.add(new GoalBreakdown.Request("Get flexible", dueDate));
+        goals.add(new GoalBreakdown.Request("", dueDate));
+        try {
+            List<GoalBreakdown> breakdowns = AIAssistant.getTasksAIBatchAsync(goals, AIAssistant.DEFAULT_TIMEOUT)
+                    .get(10, TimeUnit.SECONDS);
+            System.out.println("One breakdown per goal, in order: "
+                    + (breakdowns.size() == 4 && "Learn chess".equals(breakdowns.get(1).getGoal()) ? "PASS" : "FAIL"));
+            System.out.println("Goals in the batch answer succeed: "
+                    + (breakdowns.get(0).isSuccessful() && breakdowns.get(0).getTasks().size() == 2
+                    && breakdowns.get(2).isSuccessful() && breakdowns.get(2).getTasks().size() == 1 ? "PASS" : "FAIL"));
+            System.out.println("Missing goal fails on its own: "
+                    + (!breakdowns.get(1).isSuccessful() && breakdowns.get(1).getError() != null ? "PASS" : "FAIL"));
+            System.out.println("Invalid goal fails without a request: "
+                    + (!breakdowns.get(3).isSuccessful() && apiCalls.get() == 2 ? "PASS" : "FAIL (" + apiCalls.get() + " calls)"));
+        } catch (Exception e) {
+            System.out.println("Batch goal breakdown: FAIL (" + e + ")");
+        } finally {
+            if (previousUrl == null) {
+                System.clearProperty("OPENAI_API_URL");
+            } else {
+                System.setProperty("OPENAI_API_URL", previousUrl);
+            }
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Tests that the local provider can be selected at runtime and builds deterministic plans
+     * sized to the due date, without any network access.
+     */
+    public static void testLocalProvider() {
+        System.out.println("\n--- Test: Local task provider ---");
+        String previousProvider = System.getProperty(AIAssistant.PROVIDER_PROPERTY);
+        try {
+            AIAssistant.setProvider(null);
+            System.setProperty(AIAssistant.PROVIDER_PROPERTY, "local");
+            System.out.println("AI_PROVIDER selects the local provider: "
+                    + ("local".equals(AIAssistant.getProvider().getName()) ? "PASS" : "FAIL"));
+            AIAssistant.setProvider(new OpenAIProvider());
+            System.out.println("setProvider overrides AI_PROVIDER: "
+                    + ("openai".equals(AIAssistant.getProvider().getName()) ? "PASS" : "FAIL"));
+            AIAssistant.setProvider(new LocalTaskProvider());
+
+            List<Task> streamed = new ArrayList<>();
+            List<Task> week = AIAssistant.streamTasksAIAsync("Learn guitar, chords", LocalDate.now().plusDays(7),
+                    AIAssistant.DEFAULT_TIMEOUT, false, streamed::add).get(1, TimeUnit.SECONDS);
+            List<Task> again = AIAssistant.getTasksAIAsync("Learn guitar, chords", LocalDate.now().plusDays(7))
+                    .get(1, TimeUnit.SECONDS);
+            List<Task> quarter = AIAssistant.getTasksAIAsync("Learn guitar, chords", LocalDate.now().plusDays(90))
+                    .get(1, TimeUnit.SECONDS);
+            System.out.println("Every task reaches the listener: " + (streamed.size() == week.size() ? "PASS" : "FAIL"));
+            System.out.println("Same goal gives the same plan: " + (taskNames(week).equals(taskNames(again)) ? "PASS" : "FAIL"));
+            System.out.println("Longer horizon gives more work: "
+                    + (quarter.size() > week.size() && totalMinutes(quarter) > totalMinutes(week) ? "PASS" : "FAIL"));
+            System.out.println("Task names have no commas: "
+                    + (taskNames(quarter).stream().noneMatch(name -> name.contains(",")) ? "PASS" : "FAIL"));
+            System.out.println("Week plan " + taskNames(week) + ", " + totalMinutes(week) + " minutes");
+
+            List<GoalBreakdown.Request> goals = new ArrayList<>();
+            goals.add(new GoalBreakdown.Request("Read a book", LocalDate.now().plusDays(14)));
+            goals.add(new GoalBreakdown.Request("Run a 5k", LocalDate.now().plusDays(30)));
+            List<GoalBreakdown> breakdowns = AIAssistant.getTasksAIBatchAsync(goals, AIAssistant.DEFAULT_TIMEOUT)
+                    .get(1, TimeUnit.SECONDS);
+            System.out.println("Batch answered locally: "
+                    + (breakdowns.get(0).isSuccessful() && breakdowns.get(1).isSuccessful() ? "PASS" : "FAIL"));
+        } catch (Exception e) {
+            System.out.println("Local task provider: FAIL (" + e + ")");
+        } finally {
+            AIAssistant.setProvider(null);
+            if (previousProvider == null) {
+                System.clearProperty(AIAssistant.PROVIDER_PROPERTY);
+            } else {
+                System.setProperty(AIAssistant.PROVIDER_PROPERTY, previousProvider);
+            }
+        }
+    }
+
+    /**
+     * Tests ResilientAIProvider against a stub server that fails on demand: a 503 with
+     * Retry-After is retried after the requested delay, repeated failures open the circuit
+     * and fall back to the local provider, an open circuit fails fast without a request, and
+     * a successful trial closes it again.
+     */
+    public static void testResilientProviderWithStub() {
+        System.out.println("\n--- Test: Resilient provider with a fault-injecting stub server ---");
+        String okResponse = "{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": \""
+                + "task name, hours, minutes\\nRead the basics, 2, 30\"}}]}";
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger failuresToInject = new AtomicInteger();
+        AtomicInteger failureStatus = new AtomicInteger(500);
+
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            System.out.println("Could not start the stub server: " + e.getMessage());
+            return;
+        }
+        server.createContext("/v1/chat/completions", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            if (failuresToInject.getAndDecrement() > 0) {
+                if (failureStatus.get() == 503) {
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                }
+                exchange.sendResponseHeaders(failureStatus.get(), -1);
+            } else {
+                byte[] body = okResponse.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
                 }
             }
+            exchange.close();
+        });
+        server.start();
+
+        String previousUrl = System.getProperty("OPENAI_API_URL");
+        System.setProperty("OPENAI_API_URL", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        LocalDate dueDate = LocalDate.now().plusDays(14);
+        try {
+            // A 503 asking to retry after 1 second, then success
+            ResilientAIProvider provider = new ResilientAIProvider(new OpenAIProvider(), new LocalTaskProvider(), 3,
+                    Duration.ofSeconds(5), Duration.ofMillis(20), Duration.ofMillis(100), 2, Duration.ofMillis(300));
+            failuresToInject.set(1);
+            failureStatus.set(503);
+            long start = System.nanoTime();
+            List<Task> tasks = provider.generateTasks("Learn Python", dueDate, Duration.ofSeconds(10), null)
+                    .get(10, TimeUnit.SECONDS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.println("503 retried after Retry-After: "
+                    + (tasks.size() == 1 && !ResilientAIProvider.isFallback(tasks) && elapsedMillis >= 1000
+                    && provider.getMetrics().getRetries() == 1 ? "PASS" : "FAIL (" + provider.getMetrics() + ")"));
+
+            // Two 500s in a row open the circuit, and the call falls back to the local provider
+            failuresToInject.set(Integer.MAX_VALUE);
+            failureStatus.set(500);
+            requests.set(0);
+            tasks = provider.generateTasks("Learn Python", dueDate, Duration.ofSeconds(10), null).get(10, TimeUnit.SECONDS);
+            System.out.println("Repeated failures fall back: "
+                    + (ResilientAIProvider.isFallback(tasks) && requests.get() == 2
+                    && provider.getCircuitState() == ResilientAIProvider.CircuitState.OPEN ? "PASS" : "FAIL (" + provider.getMetrics() + ")"));
+
+            // The open circuit answers from the fallback without sending a request
+            tasks = provider.generateTasks("Learn Python", dueDate, Duration.ofSeconds(10), null).get(10, TimeUnit.SECONDS);
+            System.out.println("Open circuit fails fast: "
+                    + (ResilientAIProvider.isFallback(tasks) && requests.get() == 2
+                    && provider.getMetrics().getShortCircuits() == 1 ? "PASS" : "FAIL (" + provider.getMetrics() + ")"));
+
+            // After the open period a trial call reaches the recovered service and closes the circuit
+            failuresToInject.set(0);
+            Thread.sleep(350);
+            tasks = provider.generateTasks("Learn Python", dueDate, Duration.ofSeconds(10), null).get(10, TimeUnit.SECONDS);
+            System.out.println("Successful trial closes the circuit: "
+                    + (!ResilientAIProvider.isFallback(tasks)
+                    && provider.getCircuitState() == ResilientAIProvider.CircuitState.CLOSED ? "PASS" : "FAIL (" + provider.getMetrics() + ")"));
+
+            // A client error is not retried, and without a fallback the call fails
+            ResilientAIProvider noFallback = new ResilientAIProvider(new OpenAIProvider(), null);
+            failuresToInject.set(1);
+            failureStatus.set(400);
+            requests.set(0);
+            try {
+                noFallback.generateTasks("Learn Python", dueDate, Duration.ofSeconds(10), null).get(10, TimeUnit.SECONDS);
+                System.out.println("Client error is not retried: FAIL (no error)");
+            } catch (ExecutionException e) {
+                System.out.println("Client error is not retried: "
+                        + (e.getCause() instanceof AIRequestException && requests.get() == 1 ? "PASS" : "FAIL (" + e.getCause() + ")"));
+            }
+            System.out.println("Metrics: " + provider.getMetrics());
         } catch (Exception e) {
-            // If an error occurs while generating tasks, catch and display the exception details
-            System.err.println("An error occurred while generating tasks: " + e.getMessage());
-            e.printStackTrace(); // Print the stack trace for debugging
+            System.out.println("Resilient provider: FAIL (" + e + ")");
+        } finally {
+            if (previousUrl == null) {
+                System.clearProperty("OPENAI_API_URL");
+            } else {
+                System.setProperty("OPENAI_API_URL", previousUrl);
+            }
+            server.stop(0);
+        }
+    }
+
+    private static List<String> taskNames(List<Task> tasks) {
+        List<String> names = new ArrayList<>();
+        for (Task task : tasks) {
+            names.add(task.getTaskName());
+        }
+        return names;
+    }
+
+    private static int totalMinutes(List<Task> tasks) {
+        int minutes = 0;
+        for (Task task : tasks) {
+            minutes += task.getTimeToCompleteHours() * 60 + task.getTimeToCompleteMinutes();
         }
+        return minutes;
+    }
+
+    /**
+     * Writes one server-sent event and flushes it to the client.
+     *
+     * @param out  The response body.
+     * @param data The event data.
+     * @throws IOException If the client went away.
+     */
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
     }
-}
\ No newline at end of file
+}
@@ -15,6 +15,15 @@ package Backend;
  * and task logging.
  */
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class TestCsvEditor {
@@ -36,6 +45,10 @@ public class TestCsvEditor {
         // testLogTimeToTask();
         // testVerifyGoalDueDate();
         testReadGoals("joy"); // Example test case for reading goals of a user
+        testIndexedReadsMatchFile("joy");
+        testCredentialIndex();
+        testDataAccess("joy");
+        testCsvScannerMatchesSplit();
     }
 
     /**
@@ -153,4 +166,176 @@ public class TestCsvEditor {
         // Print the retrieved goals
         System.out.println("Goals listed: " + goals);
     }
+
+    /**
+     * Verifies that the indexed reads served by CsvEditor return the same tasks
+     * as a direct scan of the tasks CSV file, for every goal of a user.
+     *
+     * @param username The username whose goals and tasks are compared.
+     * @return Nothing.
+     */
+    private static void testIndexedReadsMatchFile(String username) {
+        System.out.println("\n--- Test 5: Indexed reads match the tasks file ---");
+
+        // Fold any pending task journal entries into the file before comparing
+        CsvEditor.compactTasks();
+
+        for (String goalName : CsvEditor.readGoals(username)) {
+            // Scan the file directly, the way CsvEditor used to
+            List<String> expected = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new FileReader("UserData/tasks.csv"))) {
+                String line = reader.readLine(); // Skip header
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split(",");
+                    if (columns.length == 8 && columns[0].equals(username) && columns[1].equals(goalName)) {
+                        expected.add(Task.fromCsvRow(columns).toCsvRow(username, goalName));
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+
+            // Compare against the indexed read
+            List<String> actual = new ArrayList<>();
+            for (Task task : CsvEditor.readTasks(username, goalName)) {
+                actual.add(task.toCsvRow(username, goalName));
+            }
+
+            System.out.println("Goal '" + goalName + "': " + (expected.equals(actual) ? "PASS" : "FAIL " + actual));
+        }
+    }
+
+    /**
+     * Verifies that every stored username and password pair is accepted by the
+     * credential index, and that a wrong password or unknown user is rejected.
+     *
+     * @return Nothing.
+     */
+    private static void testCredentialIndex() {
+        System.out.println("\n--- Test 6: Credential index lookups ---");
+
+        List<String> usernames = CsvEditor.readUsernames();
+        List<String> passwords = CsvEditor.readPasswords();
+        boolean passed = true;
+        for (int i = 0; i < usernames.size(); i++) {
+            passed &= CsvEditor.usernameExists(usernames.get(i));
+            passed &= CsvEditor.matchCredentials(usernames.get(i), passwords.get(i));
+            passed &= !CsvEditor.matchCredentials(usernames.get(i), passwords.get(i) + "x");
+        }
+        passed &= !CsvEditor.usernameExists("no_such_user");
+
+        System.out.println("Credential index: " + (passed ? "PASS" : "FAIL"));
+    }
+
+    /**
+     * Verifies that the DataAccess futures return the same data as the synchronous
+     * CsvEditor calls.
+     *
+     * @param username The username whose data is loaded.
+     */
+    private static void testDataAccess(String username) {
+        System.out.println("\n--- Test 7: Asynchronous data access ---");
+
+        User user = DataAccess.readUser(username).join();
+        boolean sameGoals = user.getGoals().size() == CsvEditor.readUser(username).getGoals().size();
+        boolean match = DataAccess.matchCredentials(username, user.getPassword()).join();
+
+        System.out.println("Asynchronous data access: " + (sameGoals && match ? "PASS" : "FAIL"));
+    }
+
+    /**
+     * Verifies that CsvScanner produces the same rows as reading the file line by line
+     * and splitting each line on commas, for the tasks and logged time files and for
+     * temporary files with unusual contents.
+     */
+    private static void testCsvScannerMatchesSplit() {
+        System.out.println("\n--- Test 8: CsvScanner matches String.split ---");
+
+        // The real files are only read
+        checkCsvScanner("tasks.csv", new File("UserData/tasks.csv").toPath(), true);
+        checkCsvScanner("loggedTime.csv", new File("UserData/loggedTime.csv").toPath(), false);
+
+        String[][] cases = {
+                {"empty file", ""},
+                {"no trailing newline", "header\njoy,Goal,Task,1,30,2024-11-20"},
+                {"CRLF line endings", "header\r\njoy,Goal,Task,1,30,2024-11-20\r\njoy,Goal,Other,2,0,2024-11-21\r\n"},
+                {"non-ASCII names", "header\nJos\u00e9,Ziel f\u00fcr 2026,Gr\u00f6\u00dfe \u65e5\u672c,1,30,2024-11-20\n"},
+                {"extra and missing columns", "header\na,b,c,d,e,f,g,h,i\na,b\n,,\na,,\n\nx\njoy,Goal,Task, 2 ,-5,2024-11-20,\n"}
+        };
+        for (String[] testCase : cases) {
+            Path file = null;
+            try {
+                file = Files.createTempFile("csvscanner", ".csv");
+                Files.write(file, testCase[1].getBytes(Charset.defaultCharset()));
+                checkCsvScanner(testCase[0] + " with header", file, true);
+                checkCsvScanner(testCase[0] + " without header", file, false);
+            } catch (IOException e) {
+                System.out.println(testCase[0] + ": FAIL " + e);
+            } finally {
+                if (file != null) {
+                    file.toFile().delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a file with CsvScanner and with BufferedReader and String.split, and prints
+     * whether the lines, columns and parsed hours and minutes agree.
+     *
+     * @param name       The name printed with the result.
+     * @param file       The file to scan.
+     * @param skipHeader True if the first line is a header.
+     */
+    private static void checkCsvScanner(String name, Path file, boolean skipHeader) {
+        List<String> expected = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line = skipHeader ? reader.readLine() : null;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                expected.add(line + " -> " + Arrays.toString(columns) + numbers(columns));
+            }
+        } catch (IOException e) {
+            System.out.println(name + ": FAIL " + e);
+            return;
+        }
+
+        List<String> actual = new ArrayList<>();
+        try {
+            CsvScanner.scan(file.toString(), skipHeader, row -> {
+                String[] columns = row.columns();
+                String parsed = "";
+                if (columns.length >= 5) {
+                    try {
+                        parsed = " " + row.intValue(3) + ":" + row.intValue(4);
+                    } catch (NumberFormatException e) {
+                        parsed = " not numbers";
+                    }
+                }
+                actual.add(row.line() + " -> " + Arrays.toString(columns) + parsed);
+            });
+        } catch (IOException e) {
+            System.out.println(name + ": FAIL " + e);
+            return;
+        }
+
+        System.out.println(name + ": " + (expected.equals(actual) ? "PASS" : "FAIL " + actual + " expected " + expected));
+    }
+
+    /**
+     * Parses the hours and minutes columns of a logged time row the way the old reader did.
+     *
+     * @param columns The columns of the row.
+     * @return The hours and minutes, "not numbers" if they do not parse, or nothing for short rows.
+     */
+    private static String numbers(String[] columns) {
+        if (columns.length < 5) {
+            return "";
+        }
+        try {
+            return " " + Integer.parseInt(columns[3].trim()) + ":" + Integer.parseInt(columns[4].trim());
+        } catch (NumberFormatException e) {
+            return " not numbers";
+        }
+    }
 }
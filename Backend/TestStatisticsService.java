@@ -33,6 +33,7 @@ public class TestStatisticsService {
         testCalculateTotalTimeToComplete();
         testCalculateDaysLeft();
         testCalculateWeeklyHourGoal();
+        testCalculateGoalStatistics();
     }
 
     /**
@@ -104,4 +105,29 @@ public class TestStatisticsService {
         System.out.printf("Weekly hours required to meet goal by '%s': %.2f hours/week\n",
                 dueDateString, weeklyHours);
     }
+
+    /**
+     * Tests the single-pass statistics snapshot for a goal.
+     * It calls the calculateGoalStatistics method from the StatisticsService
+     * and prints every value the statistics screen displays.
+     */
+    public static void testCalculateGoalStatistics() {
+        System.out.println("\n--- Test: Calculate Goal Statistics ---");
+        StatisticsService service = new StatisticsService();
+
+        // Test data
+        String username = "joy";
+        String goalName = "Learn Html";
+
+        GoalStatistics statistics = service.calculateGoalStatistics(username, goalName);
+        int[] totalTime = statistics.getTotalTimeToComplete();
+        int[] loggedTime = statistics.getLoggedTime();
+
+        System.out.printf("Completion: %.2f%% (%d of %d tasks)\n", statistics.getCompletionPercentage(),
+                statistics.getCompletedTasks(), statistics.getTotalTasks());
+        System.out.printf("Total time to complete: %d hours and %d minutes\n", totalTime[0], totalTime[1]);
+        System.out.printf("Logged time: %d hours and %d minutes\n", loggedTime[0], loggedTime[1]);
+        System.out.println("Incomplete tasks: " + statistics.getIncompleteTasks().size());
+        System.out.println("Weekly logged time: " + statistics.getWeeklyLoggedTime());
+    }
 }
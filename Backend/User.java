@@ -1,8 +1,9 @@
 package Backend;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import Backend.CsvEditor;
+import java.util.Map;
 import Backend.Goal;
 import Backend.Task;
 
@@ -16,7 +17,7 @@ import Backend.Task;
  * <p>Usage:
  * The class is used to manage user credentials, goals, and tasks associated with
  * the user. It handles the initialization of goals, tasks, and password retrieval
- * from CSV files. It also allows conversion of the user object to a CSV row format
+ * from CSV files; CsvEditor.readUser loads the whole user in one batch. It also allows conversion of the user object to a CSV row format
  * and parsing from CSV rows.</p>
  *
  * @author Max Henson
@@ -28,7 +29,9 @@ public class User {
 
     private String currentUser;  // Username of the user
     private String password;  // Password for the user
-    private List<Goal> goals;  // List of goals associated with the user
+    private volatile List<Goal> goals;  // List of goals associated with the user
+    private Map<String, Goal> goalsByName;  // The same goals, keyed by goal name
+    private Map<String, Long> loadedVersions;  // Write version of each goal when it was loaded
 
     /**
      * Constructor for the User class that initializes a user with their username,
@@ -37,62 +40,86 @@ public class User {
      * @param currentUser The username for the user.
      */
     public User(String currentUser) {
-        this.currentUser = currentUser;
-        this.goals = new ArrayList<>();
-        this.password = setPassword();  // Initialize the password
-        setGoalsAndTasks();  // Initialize goals and associated tasks
+        this(currentUser, CsvRepository.getInstance());
     }
 
     /**
-     * Sets the password for the current user by retrieving it from the CSV files.
-     * The password is matched with the username from the user data stored in CSV.
+     * Loads a user from the repository. The goal versions are read before the goals, so a
+     * change made in between is picked up by the next refresh rather than missed.
      *
-     * @return The password for the user, or null if no matching user is found.
+     * @param currentUser The username for the user.
+     * @param repository The repository to load from.
      */
-    private String setPassword() {
-        // Find the password for the current user using CsvEditor
-        System.out.println("Setting Password.... ");
-        List<String> usernames = CsvEditor.readUsernames();
-        List<String> passwords = CsvEditor.readPasswords();
-        System.out.println("CsvEditor.readUsernames returned : " + usernames);
-        System.out.println("CsvEditor.readPasswords returned : " + passwords);
-
-        for (int i = 0; i < usernames.size(); i++) {
-            if (usernames.get(i).equals(this.currentUser)) {
-                return passwords.get(i); // Return the corresponding password
+    User(String currentUser, CsvRepository repository) {
+        this(currentUser, repository.goalVersions(currentUser), repository.password(currentUser),
+                repository.goals(currentUser));
+    }
+
+    /**
+     * Constructor for the User class that initializes a user from data that was already
+     * loaded, without reading the user, goal or task files again. Every goal is reloaded
+     * on the first call to setGoalsAndTasks, since its version is unknown.
+     *
+     * @param currentUser The username for the user.
+     * @param password The password for the user.
+     * @param goals The goals of the user, with their tasks.
+     */
+    public User(String currentUser, String password, List<Goal> goals) {
+        this(currentUser, new HashMap<>(), password, goals);
+    }
+
+    /**
+     * Constructor for the User class that also records the write version each goal
+     * was loaded at.
+     *
+     * @param currentUser The username for the user.
+     * @param loadedVersions The write version of each goal when it was loaded.
+     * @param password The password for the user.
+     * @param goals The goals of the user, with their tasks.
+     */
+    private User(String currentUser, Map<String, Long> loadedVersions, String password, List<Goal> goals) {
+        this.currentUser = currentUser;
+        this.password = password;
+        this.goals = new ArrayList<>();
+        this.goalsByName = new HashMap<>();
+        this.loadedVersions = new HashMap<>(loadedVersions);
+        for (Goal goal : goals) {
+            if (goalsByName.putIfAbsent(goal.getGoalName(), goal) == null) {
+                this.goals.add(goal);
             }
         }
-        return null; // Return null if no matching user is found
     }
 
     /**
-     * Reads the goals and tasks for the current user from the CSV file and initializes
-     * the user's goals list. If a goal already exists, it updates the associated tasks.
+     * Brings the user's goals and tasks up to date. Only goals whose write version changed
+     * since they were loaded are reloaded, and goals created since then are added.
+     * Existing Goal objects are updated in place.
      */
-    public void setGoalsAndTasks() {
-        // Fetch goals and their associated tasks for the current user
+    public synchronized void setGoalsAndTasks() {
         System.out.println("Setting goals and tasks...");
-        List<String> goalNames = CsvEditor.readGoals(this.currentUser);
-        System.out.println("CsvEditor.readGoals returned : " + goalNames);
-
-        for (String goalName : goalNames) {
-            // Check for duplicate goal
-            boolean goalExists = false;
-            for (Goal goal : this.goals) {
-                if (goal.getGoalName().equals(goalName)) {
-                    goalExists = true;
-                    // If goal already exists, update it
-                    goal.updateGoalTasks();
-                    break;
-                }
+        CsvRepository repository = CsvRepository.getInstance();
+
+        for (Map.Entry<String, Long> entry : repository.goalVersions(this.currentUser).entrySet()) {
+            String goalName = entry.getKey();
+            Long version = entry.getValue();
+            if (version.equals(loadedVersions.get(goalName))) {
+                continue; // Unchanged since it was loaded
             }
 
-            // If no duplicate goal, create a new one and add it
-            if (!goalExists) {
-                Goal goal = new Goal(this.currentUser, goalName); // Create a goal object
-                System.out.println("Goal in User: " + goal.getGoalName());
-                this.goals.add(goal);
+            Goal loadedGoal = repository.goalObject(this.currentUser, goalName);
+            Goal goal = goalsByName.get(goalName);
+            if (goal == null) {
+                // New goal, add it
+                System.out.println("Goal in User: " + goalName);
+                goalsByName.put(goalName, loadedGoal);
+                List<Goal> updatedGoals = new ArrayList<>(this.goals);
+                updatedGoals.add(loadedGoal);
+                this.goals = updatedGoals; // Replaced, not modified, so readers on other threads are safe
+            } else {
+                // Changed goal, update its tasks
+                goal.replaceTasks(loadedGoal.getTasks());
             }
+            loadedVersions.put(goalName, version);
         }
     }
 
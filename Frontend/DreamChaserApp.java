@@ -3,6 +3,9 @@ package Frontend;
 import java.awt.*;
 import javax.swing.*;
 import Backend.User;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.category.DefaultCategoryDataset;
 
 /**
  * <h1>DreamChaserApp Class</h1>
@@ -30,6 +33,9 @@ public class DreamChaserApp extends JFrame {
 
     private User currentUser;
 
+    // Images of the screens built after sign-in
+    private static final String[] SCREEN_IMAGES = {"/Images/AllPageBackground.png"};
+
     /**
      * Constructs the main application window with default screens.
      * Initializes the JFrame with a fullscreen layout and adds the initial screens.
@@ -86,6 +92,24 @@ public class DreamChaserApp extends JFrame {
         }
     }
 
+    /**
+     * Loads the resources the screens need, so building them after sign-in does not wait on
+     * image decoding or class loading. Safe to call from any thread; meant to run in the
+     * background while the LoadingScreen is shown.
+     * Images are decoded into the ImageCache shared by the screens, and a throwaway chart loads
+     * the JFreeChart classes used by the StatisticsScreen, unless the Java2D chart is selected.
+     */
+    static void warmUpResources() {
+        for (String imagePath : SCREEN_IMAGES) {
+            ImageCache.load(imagePath).exceptionally(e -> null).join(); // Waits until the image is decoded
+        }
+
+        if (!WeeklyProgressChart.isJava2DSelected()) {
+            JFreeChart chart = ChartFactory.createLineChart("", "Week", "Time", new DefaultCategoryDataset());
+            chart.createBufferedImage(16, 16); // Loads the renderer and font classes
+        }
+    }
+
     /**
      * Checks whether a screen with the specified name has already been added to the main panel.
      *
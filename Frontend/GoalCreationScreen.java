@@ -1,9 +1,10 @@
 package Frontend;
 
-import Backend.CsvEditor;
+import Backend.DataAccess;
 import Backend.Task;
 import Backend.Goal;
 import Backend.AIAssistant;
+import Backend.ResilientAIProvider;
 import Backend.User;
 
 import javax.swing.*;
@@ -11,9 +12,16 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * <h1>GoalCreationScreen Class</h1>
@@ -41,7 +49,13 @@ public class GoalCreationScreen extends JPanel {
     private JTable tasksTable;
     private User user;
     private DefaultTableModel tableModel;
-    private Image backgroundImage; // To hold the background image
+    private static final String BACKGROUND_IMAGE = "/Images/AllPageBackground.png";
+    private JButton completeButton; // Disabled while the goal is being saved
+    private JButton generateTasksButton; // Disabled while tasks are being generated
+    private JProgressBar generationProgressBar; // Shown while tasks are being generated
+    private CompletableFuture<List<Task>> pendingGeneration; // Running task generation, if any
+    private String lastGeneratedGoal; // Goal and due date of the last generated tasks,
+    private LocalDate lastGeneratedDueDate; // generating them again bypasses the AI task cache
 
     /**
      * Constructs a GoalCreationScreen instance to allow users to create and manage goals.
@@ -58,7 +72,7 @@ public class GoalCreationScreen extends JPanel {
         this.user = app.getCurrentUser();
         this.setOpaque(true);
 
-        backgroundImage = new ImageIcon(getClass().getResource("/Images/AllPageBackground.png")).getImage();
+        ImageCache.load(BACKGROUND_IMAGE);
         setLayout(new BorderLayout());
 
         // Title panel
@@ -137,15 +151,34 @@ public class GoalCreationScreen extends JPanel {
         addTaskButton.addActionListener(e -> addTask());
         buttonPanel.add(addTaskButton);
 
-        JButton generateTasksButton = createTransparentButton("Generate Tasks Using AI");
+        generateTasksButton = createTransparentButton("Generate Tasks Using AI");
         generateTasksButton.addActionListener(e -> generateTasks());
         buttonPanel.add(generateTasksButton);
 
-        JButton completeButton = createTransparentButton("Complete Goal");
+        completeButton = createTransparentButton("Complete Goal");
         completeButton.addActionListener(e -> completeGoal());
         buttonPanel.add(completeButton);
 
-        add(buttonPanel, BorderLayout.SOUTH);
+        // Progress indicator shown while the AI generates tasks
+        generationProgressBar = new JProgressBar();
+        generationProgressBar.setString("Generating tasks...");
+        generationProgressBar.setStringPainted(true);
+        generationProgressBar.setForeground(Color.decode("#021f37"));
+        generationProgressBar.setVisible(false);
+
+        JPanel southPanel = new JPanel(new BorderLayout(0, 10));
+        southPanel.setOpaque(false); // Transparent
+        southPanel.add(generationProgressBar, BorderLayout.NORTH);
+        southPanel.add(buttonPanel, BorderLayout.CENTER);
+        add(southPanel, BorderLayout.SOUTH);
+
+        // Stop waiting for the AI once the user leaves the screen
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentHidden(ComponentEvent e) {
+                cancelTaskGeneration();
+            }
+        });
     }
 
     /**
@@ -157,9 +190,7 @@ public class GoalCreationScreen extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         // Draw the background image
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        }
+        ImageCache.drawBackground(g, BACKGROUND_IMAGE, this);
     }
 
     /**
@@ -259,6 +290,10 @@ public class GoalCreationScreen extends JPanel {
     /**
      * Generates tasks for the goal using AI assistance.
      * Fetches tasks based on the goal name and due date and updates the task table.
+     * The request runs in the background with a progress indicator, and is cancelled if the user leaves the screen.
+     * Tasks are streamed from the AI and appended to the table one by one as they are generated.
+     * Goals that were broken down before are answered from the AI task cache, unless the user generates
+     * tasks again for the same goal and due date.
      */
     private void generateTasks() {
         String goalName = goalNameField.getText().trim();
@@ -270,31 +305,91 @@ public class GoalCreationScreen extends JPanel {
             return;
         }
 
+        LocalDate dueDate;
         try {
-            LocalDate dueDate = LocalDate.parse(dueDateString, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            dueDate = LocalDate.parse(dueDateString, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
+                    "Task Generation Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            String envFilePath = ".env";
-            AIAssistant.loadEnvFile(envFilePath);
-            ArrayList<Task> tasks = AIAssistant.getTasksAI(goalName, dueDate);
+        String envFilePath = ".env";
+        AIAssistant.loadEnvFile(envFilePath);
+
+        // Ask the AI in the background and append each task to the table as soon as it arrives
+        setGenerating(true);
+        tableModel.setRowCount(0); // Clear existing rows
+        // Cached tasks answer the first request; generating again for the same goal asks the AI anew
+        boolean regenerate = goalName.equals(lastGeneratedGoal) && dueDate.equals(lastGeneratedDueDate);
+        AtomicReference<CompletableFuture<List<Task>>> self = new AtomicReference<>(); // Lets the listener recognise its own generation
+        CompletableFuture<List<Task>> generation = AIAssistant.streamTasksAIAsync(goalName, dueDate,
+                AIAssistant.DEFAULT_TIMEOUT, regenerate, task -> SwingUtilities.invokeLater(() -> {
+                    if (self.get() != null && self.get() == pendingGeneration) {
+                        tableModel.addRow(new Object[]{task.getTaskName(), task.getTimeToCompleteHours(), task.getTimeToCompleteMinutes()});
+                    }
+                }));
+        self.set(generation);
+        pendingGeneration = generation;
+        generation.whenCompleteAsync((tasks, error) -> {
+            if (generation != pendingGeneration) {
+                return; // Cancelled because the user left the screen
+            }
+            pendingGeneration = null;
+            setGenerating(false);
+
+            if (error != null) {
+                Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                String message = (cause instanceof TimeoutException)
+                        ? "The AI Assistant took too long to respond. Please try again."
+                        : "Error: " + cause.getMessage();
+                JOptionPane.showMessageDialog(this, message,
+                        "Task Generation Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
-            tableModel.setRowCount(0); // Clear existing rows
+            // The rows were appended as the tasks streamed in
             if (tasks != null && !tasks.isEmpty()) {
-                for (Task task : tasks) {
-                    tableModel.addRow(new Object[]{task.getTaskName(), task.getTimeToCompleteHours(), task.getTimeToCompleteMinutes()});
+                lastGeneratedGoal = goalName;
+                lastGeneratedDueDate = dueDate;
+                if (ResilientAIProvider.isFallback(tasks)) {
+                    JOptionPane.showMessageDialog(this, "The AI Assistant is unavailable, so a template plan was generated instead.",
+                            "AI Unavailable", JOptionPane.INFORMATION_MESSAGE);
                 }
             } else {
                 JOptionPane.showMessageDialog(this, "AI Assistant did not generate any tasks.",
                         "AI Error", JOptionPane.ERROR_MESSAGE);
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
-                    "Task Generation Error", JOptionPane.ERROR_MESSAGE);
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Cancels a task generation that is still waiting for the AI, e.g. when the user leaves the screen.
+     */
+    private void cancelTaskGeneration() {
+        CompletableFuture<List<Task>> generation = pendingGeneration;
+        if (generation != null) {
+            pendingGeneration = null;
+            generation.cancel(true);
+            setGenerating(false);
         }
     }
 
+    /**
+     * Shows or hides the progress indicator for a running task generation.
+     *
+     * @param generating True while tasks are being generated.
+     */
+    private void setGenerating(boolean generating) {
+        generationProgressBar.setVisible(generating);
+        generationProgressBar.setIndeterminate(generating);
+        generateTasksButton.setEnabled(!generating);
+        revalidate();
+    }
+
     /**
      * Completes the goal creation process by saving the goal and its tasks.
-     * Validates user input, constructs the goal object, and persists the data.
+     * Validates user input, constructs the goal object, and persists the data in the background.
      */
     private void completeGoal() {
         String goalName = goalNameField.getText().trim();
@@ -317,29 +412,39 @@ public class GoalCreationScreen extends JPanel {
             return;
         }
 
+        Goal goal;
         try {
-            Goal goal = new Goal(user.getUsername(), goalName);
+            // Build the goal from the table only, without reading its tasks from the files
+            goal = new Goal(user.getUsername(), goalName, dueDateString, new ArrayList<>());
             for (int i = 0; i < tableModel.getRowCount(); i++) {
                 String taskName = (String) tableModel.getValueAt(i, 0);
                 int timeToCompleteHours = Integer.parseInt(tableModel.getValueAt(i, 1).toString());
                 int timeToCompleteMinutes = Integer.parseInt(tableModel.getValueAt(i, 2).toString());
                 goal.addTask(new Task(taskName, timeToCompleteHours, timeToCompleteMinutes));
             }
-
-            CsvEditor.writeGoalAndTasks(user.getUsername(), goal, dueDateString, formattedDate);
-
-            // Update the user's goals and tasks
-            user.setGoalsAndTasks();
-
-            JOptionPane.showMessageDialog(this, "Goal completed and saved successfully.",
-                    "Success", JOptionPane.INFORMATION_MESSAGE);
-
-
-            app.navigateToScreen("ProgressReport");
-
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
                     "Completion Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        // Save the goal and update the user's goals and tasks in the background
+        completeButton.setEnabled(false);
+        DataAccess.writeGoalAndTasks(user, goal, dueDateString, formattedDate)
+                .whenCompleteAsync((updatedUser, error) -> {
+                    completeButton.setEnabled(true);
+                    if (error != null) {
+                        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                        JOptionPane.showMessageDialog(this, "Error: " + cause.getMessage(),
+                                "Completion Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+
+                    JOptionPane.showMessageDialog(this, "Goal completed and saved successfully.",
+                            "Success", JOptionPane.INFORMATION_MESSAGE);
+
+
+                    app.navigateToScreen("ProgressReport");
+                }, SwingUtilities::invokeLater);
     }
 }
@@ -0,0 +1,130 @@
+package Frontend;
+
+import Backend.Goal;
+import Backend.StatisticsService;
+import Backend.Task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <h1>GoalProgress Class</h1>
+ * The GoalProgress class holds what the progress report shows for one goal: its name, the
+ * percentage of its tasks that are complete, and the days left until it is due.
+ *
+ * <p>Usage:
+ * Build the list for a user's goals with fromGoals and compare it with the one shown before;
+ * two GoalProgress objects are equal when they would be displayed the same way, so the
+ * ProgressReportScreen only updates the goals whose values changed.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public final class GoalProgress {
+
+    private final String goalName;
+    private final int progress;
+    private final String daysLeftText;
+
+    /**
+     * Constructor for the GoalProgress class.
+     *
+     * @param goalName     The name of the goal.
+     * @param progress     The percentage of tasks completed, from 0 to 100.
+     * @param daysLeftText The days left until the due date, as displayed.
+     */
+    public GoalProgress(String goalName, int progress, String daysLeftText) {
+        this.goalName = goalName;
+        this.progress = progress;
+        this.daysLeftText = daysLeftText;
+    }
+
+    /**
+     * Computes the progress of a goal.
+     *
+     * @param goal         The goal.
+     * @param statsService The service used to count the days left.
+     * @return The progress of the goal.
+     */
+    public static GoalProgress fromGoal(Goal goal, StatisticsService statsService) {
+        int totalTasks = goal.getTasks().size();
+        int completedTasks = (int) goal.getTasks().stream().filter(Task::isComplete).count();
+        int progress = (totalTasks > 0) ? (completedTasks * 100) / totalTasks : 0;
+
+        long daysLeft = statsService.calculateDaysLeft(goal.getDueDate());
+        String daysLeftText = (daysLeft >= 0) ? daysLeft + " Days Left" : "Due Date Passed";
+        return new GoalProgress(goal.getGoalName(), progress, daysLeftText);
+    }
+
+    /**
+     * Computes the progress of a user's goals, keeping the first goal of each name.
+     *
+     * @param goals        The goals, in display order.
+     * @param statsService The service used to count the days left.
+     * @return The progress of each distinctly named goal, in the same order.
+     */
+    public static List<GoalProgress> fromGoals(List<Goal> goals, StatisticsService statsService) {
+        List<GoalProgress> progressList = new ArrayList<>(goals.size());
+        Set<String> goalNames = new HashSet<>();
+        for (Goal goal : goals) {
+            if (goalNames.add(goal.getGoalName())) {
+                progressList.add(fromGoal(goal, statsService));
+            }
+        }
+        return progressList;
+    }
+
+    /**
+     * Getter for the goal name.
+     *
+     * @return The name of the goal.
+     */
+    public String getGoalName() {
+        return goalName;
+    }
+
+    /**
+     * Getter for the progress.
+     *
+     * @return The percentage of tasks completed, from 0 to 100.
+     */
+    public int getProgress() {
+        return progress;
+    }
+
+    /**
+     * Getter for the days left text.
+     *
+     * @return The days left until the due date, as displayed.
+     */
+    public String getDaysLeftText() {
+        return daysLeftText;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GoalProgress)) {
+            return false;
+        }
+        GoalProgress that = (GoalProgress) other;
+        return progress == that.progress && goalName.equals(that.goalName) && daysLeftText.equals(that.daysLeftText);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(goalName, progress, daysLeftText);
+    }
+
+    @Override
+    public String toString() {
+        return goalName + ": " + progress + "%, " + daysLeftText;
+    }
+}
@@ -0,0 +1,116 @@
+package Frontend;
+
+import java.awt.*;
+import javax.swing.*;
+
+/**
+ * <h1>GoalProgressRenderer Class</h1>
+ * The GoalProgressRenderer class draws one goal of the progress report: the goal title, the
+ * days left under it and a rounded progress bar, all painted by a single component in one pass.
+ *
+ * <p>Usage:
+ * Set an instance as the cell renderer of a JList of GoalProgress. The list asks it to paint
+ * only the goals that are visible, so no components are created per goal and scrolling costs
+ * the same however many goals there are. Give the list a fixed cell height of CELL_HEIGHT so
+ * it does not have to measure every goal either.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public class GoalProgressRenderer extends JComponent implements ListCellRenderer<GoalProgress> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int CELL_HEIGHT = 170;
+    public static final int CELL_WIDTH = 640;
+
+    private static final int BAR_WIDTH = 600;
+    private static final int BAR_HEIGHT = 25;
+    private static final Color NAVY = Color.decode("#021f37");
+    private static final Color OFF_WHITE = Color.decode("#f5f5f5");
+    private static final Font TITLE_FONT = new Font("Verdana", Font.BOLD, 24); // Larger font for the goal title
+    private static final Font DAYS_LEFT_FONT = new Font("Verdana", Font.PLAIN, 18);
+
+    private GoalProgress progress;
+
+    /**
+     * Constructor for GoalProgressRenderer.
+     */
+    public GoalProgressRenderer() {
+        setOpaque(false); // Let the screen background show through
+        setPreferredSize(new Dimension(CELL_WIDTH, CELL_HEIGHT));
+    }
+
+    /**
+     * Prepares the renderer to paint a goal. Selection and focus are not shown, since the
+     * report is read-only.
+     */
+    @Override
+    public Component getListCellRendererComponent(JList<? extends GoalProgress> list, GoalProgress value,
+                                                  int index, boolean isSelected, boolean cellHasFocus) {
+        this.progress = value;
+        return this;
+    }
+
+    /**
+     * Paints the goal title, the days left and the progress bar, centered in the cell.
+     *
+     * @param g The Graphics object used to draw the component.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (progress == null) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        int width = getWidth();
+        g2.setColor(NAVY);
+
+        // Goal title
+        g2.setFont(TITLE_FONT);
+        FontMetrics titleMetrics = g2.getFontMetrics();
+        int y = 20 + titleMetrics.getAscent();
+        g2.drawString(progress.getGoalName(), (width - titleMetrics.stringWidth(progress.getGoalName())) / 2, y);
+
+        // Days left under the goal title
+        g2.setFont(DAYS_LEFT_FONT);
+        FontMetrics daysLeftMetrics = g2.getFontMetrics();
+        y += titleMetrics.getDescent() + 20 + daysLeftMetrics.getAscent();
+        String daysLeftText = progress.getDaysLeftText();
+        g2.drawString(daysLeftText, (width - daysLeftMetrics.stringWidth(daysLeftText)) / 2, y);
+
+        // Progress bar: off-white background, navy progress portion
+        int barX = (width - BAR_WIDTH) / 2;
+        int barY = y + daysLeftMetrics.getDescent() + 20;
+        g2.setColor(OFF_WHITE);
+        g2.fillRoundRect(barX, barY, BAR_WIDTH, BAR_HEIGHT, 20, 20);
+        int progressWidth = BAR_WIDTH * progress.getProgress() / 100;
+        g2.setColor(NAVY);
+        g2.fillRoundRect(barX, barY, progressWidth, BAR_HEIGHT, 20, 20);
+    }
+
+    // A renderer is only used for painting, so skip the change notifications of a live component
+    @Override
+    public void invalidate() {
+    }
+
+    @Override
+    public void validate() {
+    }
+
+    @Override
+    public void revalidate() {
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+    }
+
+    @Override
+    public void repaint(Rectangle r) {
+    }
+}
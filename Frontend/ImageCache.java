@@ -0,0 +1,183 @@
+package Frontend;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+/**
+ * <h1>ImageCache Class</h1>
+ * The ImageCache class decodes each image resource of the application once, in the background,
+ * and keeps a copy of it scaled to the size it is drawn at, so painting a screen background is
+ * a plain copy instead of a decode or a rescale.
+ *
+ * <p>Usage:
+ * Call load with a resource path (such as "/Images/AllPageBackground.png") to start decoding it;
+ * every screen asking for the same path shares the same decoded image. In paintComponent, call
+ * drawBackground to fill the component with the image. A scaled copy is made in a format
+ * compatible with the display on the first paint at a new size, and the copies for the most
+ * recently drawn sizes are kept, so screens of different sizes do not rescale each other's.
+ * The copy has one pixel per device pixel of the display, so it stays sharp on high-DPI screens.
+ * Until the image is decoded nothing is drawn, and the component is repainted once it is.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public final class ImageCache {
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Decoded images by resource path, shared by all screens
+    private static final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private static final int MAX_SCALED_IMAGES = 8;
+
+    // Scaled copies by path and size, least recently drawn first; only used on the event dispatch thread
+    private static final Map<String, BufferedImage> scaledImages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+            return size() > MAX_SCALED_IMAGES;
+        }
+    };
+    // Components waiting for an image to be decoded, only used on the event dispatch thread
+    private static final Set<Component> pendingRepaints = new HashSet<>();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Starts decoding an image resource, unless it has been started already.
+     *
+     * @param path The resource path of the image.
+     * @return A future completing with the decoded image, or exceptionally if it cannot be read.
+     */
+    public static CompletableFuture<BufferedImage> load(String path) {
+        return images.computeIfAbsent(path, key -> CompletableFuture.supplyAsync(() -> decode(key), executor));
+    }
+
+    /**
+     * Decodes an image resource and waits for it, for images that are needed right away.
+     *
+     * @param path The resource path of the image.
+     * @return The image as an icon, or an empty icon if it cannot be read.
+     */
+    public static ImageIcon getIcon(String path) {
+        try {
+            return new ImageIcon(load(path).join());
+        } catch (RuntimeException e) {
+            System.err.println("Could not load image " + path + ": " + e.getMessage());
+            return new ImageIcon();
+        }
+    }
+
+    /**
+     * Fills a component with an image, scaled to the component's size. Must be called on the
+     * event dispatch thread, normally from paintComponent.
+     *
+     * @param g         The Graphics object of the component.
+     * @param path      The resource path of the image.
+     * @param component The component being painted.
+     */
+    public static void drawBackground(Graphics g, String path, Component component) {
+        int width = component.getWidth();
+        int height = component.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        CompletableFuture<BufferedImage> image = load(path);
+        if (!image.isDone()) {
+            // Paint again once decoded, however many times the component is painted until then
+            if (pendingRepaints.add(component)) {
+                image.whenComplete((decoded, error) -> SwingUtilities.invokeLater(() -> {
+                    pendingRepaints.remove(component);
+                    component.repaint();
+                }));
+            }
+            return;
+        }
+        if (image.isCompletedExceptionally()) {
+            return;
+        }
+
+        // On a scaled (high-DPI) display, the copy has one pixel per device pixel
+        GraphicsConfiguration config = component.getGraphicsConfiguration();
+        AffineTransform displayTransform = (config != null) ? config.getDefaultTransform() : new AffineTransform();
+        double scaleX = displayTransform.getScaleX();
+        double scaleY = displayTransform.getScaleY();
+        String key = path + "@" + width + "x" + height + "@" + scaleX + "x" + scaleY;
+        BufferedImage scaled = scaledImages.get(key);
+        if (scaled == null) {
+            scaled = scale(image.join(), (int) Math.ceil(width * scaleX), (int) Math.ceil(height * scaleY), config);
+            scaledImages.put(key, scaled);
+        }
+        g.drawImage(scaled, 0, 0, width, height, null);
+    }
+
+    /**
+     * Makes a copy of an image at the given size, in a format compatible with the display.
+     *
+     * @param source The decoded image.
+     * @param width  The width of the copy, in device pixels.
+     * @param height The height of the copy, in device pixels.
+     * @param config The configuration of the display, or null if the component is not shown.
+     * @return The scaled copy.
+     */
+    private static BufferedImage scale(BufferedImage source, int width, int height, GraphicsConfiguration config) {
+        int transparency = source.getColorModel().getTransparency();
+        BufferedImage scaled;
+        if (config != null) {
+            scaled = config.createCompatibleImage(width, height, transparency);
+        } else {
+            scaled = new BufferedImage(width, height, (transparency == Transparency.OPAQUE)
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+
+        Graphics2D g2 = scaled.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.drawImage(source, 0, 0, width, height, null);
+        g2.dispose();
+        return scaled;
+    }
+
+    /**
+     * Reads an image resource.
+     *
+     * @param path The resource path of the image.
+     * @return The decoded image.
+     */
+    private static BufferedImage decode(String path) {
+        URL url = ImageCache.class.getResource(path);
+        if (url == null) {
+            throw new UncheckedIOException(new IOException("Image not found: " + path));
+        }
+        try {
+            BufferedImage image = ImageIO.read(url);
+            if (image == null) {
+                throw new IOException("Unsupported image format: " + path);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
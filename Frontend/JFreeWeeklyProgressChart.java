@@ -0,0 +1,99 @@
+package Frontend;
+
+import java.awt.*;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.swing.*;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.category.DefaultCategoryDataset;
+
+/**
+ * <h1>JFreeWeeklyProgressChart Class</h1>
+ * The JFreeWeeklyProgressChart class draws the weekly progress chart with JFreeChart, as a line
+ * chart of the logged time and the weekly goal.
+ *
+ * <p>Usage:
+ * This is the default WeeklyProgressChart. One chart is built and kept; setData swaps the
+ * dataset of its plot. The dataset made for each WeeklyProgressData is kept as long as that
+ * data is, so showing a goal again reuses its dataset.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public class JFreeWeeklyProgressChart implements WeeklyProgressChart {
+
+    private final JPanel panel;
+    private final CategoryPlot plot;
+    // Datasets by the data they were made from, dropped along with that data
+    private final Map<WeeklyProgressData, DefaultCategoryDataset> datasets = new WeakHashMap<>();
+
+    /**
+     * Constructor for JFreeWeeklyProgressChart. Builds an empty chart.
+     */
+    public JFreeWeeklyProgressChart() {
+        JFreeChart lineChart = ChartFactory.createLineChart(
+                "Weekly Goal vs Logged Time",
+                "Weeks",
+                "Hours",
+                new DefaultCategoryDataset(),
+                PlotOrientation.VERTICAL,
+                true,
+                true,
+                false
+        );
+
+        lineChart.getTitle().setFont(new Font("Arial", Font.BOLD, 24)); // Larger chart title
+        plot = lineChart.getCategoryPlot();
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setOutlineVisible(false);
+        plot.setDomainGridlinesVisible(true);
+        plot.setDomainGridlinePaint(Color.LIGHT_GRAY);
+        plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
+
+        // Increase font size for axis labels and tick marks
+        plot.getDomainAxis().setLabelFont(new Font("Arial", Font.BOLD, 18)); // X-axis label
+        plot.getDomainAxis().setTickLabelFont(new Font("Arial", Font.PLAIN, 16)); // X-axis ticks
+        plot.getRangeAxis().setLabelFont(new Font("Arial", Font.BOLD, 18)); // Y-axis label
+        plot.getRangeAxis().setTickLabelFont(new Font("Arial", Font.PLAIN, 16)); // Y-axis ticks
+
+        ChartPanel chartPanel = new ChartPanel(lineChart);
+        chartPanel.setPreferredSize(new Dimension(700, 400)); // Larger chart dimensions
+        panel = new JPanel(new BorderLayout());
+        panel.setOpaque(false);
+        panel.add(chartPanel, BorderLayout.CENTER);
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return panel;
+    }
+
+    @Override
+    public void setData(WeeklyProgressData data) {
+        plot.setDataset(datasets.computeIfAbsent(data, JFreeWeeklyProgressChart::createDataset));
+    }
+
+    /**
+     * Creates the dataset of the chart: the logged time and the weekly goal of every week.
+     *
+     * @param data The weekly progress of a goal.
+     * @return The dataset.
+     */
+    private static DefaultCategoryDataset createDataset(WeeklyProgressData data) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        long[] weeks = data.getWeeks();
+        double[] loggedHours = data.getLoggedHours();
+        for (int i = 0; i < weeks.length; i++) {
+            dataset.addValue(loggedHours[i], "Logged Time", "Week " + weeks[i]);
+            dataset.addValue(data.getWeeklyGoal(), "Weekly Goal", "Week " + weeks[i]);
+        }
+        return dataset;
+    }
+}
@@ -0,0 +1,372 @@
+package Frontend;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import javax.swing.*;
+
+/**
+ * <h1>Java2DWeeklyProgressChart Class</h1>
+ * The Java2DWeeklyProgressChart class draws the weekly progress chart with plain Java2D: a
+ * title, value and week axes with grid lines, a line for the logged time, a line for the
+ * weekly goal and a legend, laid out like the JFreeChart version.
+ *
+ * <p>Usage:
+ * Selected with the system property CHART_RENDERER=java2d. It reads the series straight from
+ * the primitive arrays of WeeklyProgressData, without building a dataset. The geometry (plot
+ * area, lines, ticks and label positions) is computed and drawn into an image once for each
+ * data and size, so a repaint only copies that image. The image has one pixel per device pixel
+ * of the screen the chart is on, so it stays sharp on high-DPI displays.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public class Java2DWeeklyProgressChart extends JComponent implements WeeklyProgressChart {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String TITLE = "Weekly Goal vs Logged Time";
+    private static final String LOGGED_SERIES = "Logged Time";
+    private static final String GOAL_SERIES = "Weekly Goal";
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font AXIS_LABEL_FONT = new Font("Arial", Font.BOLD, 18);
+    private static final Font TICK_LABEL_FONT = new Font("Arial", Font.PLAIN, 16);
+    private static final Font LEGEND_FONT = new Font("Arial", Font.PLAIN, 14);
+    private static final Color LOGGED_COLOR = new Color(0xFF, 0x55, 0x55); // Same series colors as JFreeChart
+    private static final Color GOAL_COLOR = new Color(0x55, 0x55, 0xFF);
+    private static final Color AXIS_COLOR = Color.GRAY;
+    private static final Stroke SERIES_STROKE = new BasicStroke(2f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final Stroke GRID_STROKE = new BasicStroke(0.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
+            0f, new float[]{2f, 2f}, 0f);
+    private static final Stroke AXIS_STROKE = new BasicStroke(1f);
+    private static final int GAP = 8;
+    private static final int TICK_COUNT = 5;
+
+    private WeeklyProgressData data = WeeklyProgressData.empty();
+
+    // Geometry for the current data and size, recomputed when either changes
+    private boolean geometryValid = false;
+    private int geometryWidth;
+    private int geometryHeight;
+    private final Rectangle plotArea = new Rectangle();
+    private final Path2D.Double loggedLine = new Path2D.Double();
+    private final Path2D.Double goalLine = new Path2D.Double();
+    private final Path2D.Float gridLines = new Path2D.Float();
+    private float[] pointX = new float[0];
+    private float[] loggedY = new float[0];
+    private float goalY;
+    private float[] valueTickY = new float[0];
+    private String[] valueTickLabels = new String[0];
+    private float[] valueTickLabelX = new float[0];
+    private float valueTickLabelOffset;
+    private String[] weekLabels = new String[0];
+    private float[] weekLabelX = new float[0];
+    private float weekLabelY;
+    private int weekLabelStep = 1;
+    private int titleX;
+    private int titleY;
+    private int weeksLabelX;
+    private int weeksLabelY;
+    private int hoursLabelX;
+    private int hoursLabelY;
+    private int legendX;
+    private int legendY;
+    private BufferedImage chartImage; // The chart drawn with the current geometry, or null
+    private double chartImageScaleX; // The display scale chartImage was drawn for
+    private double chartImageScaleY;
+
+    /**
+     * Constructor for Java2DWeeklyProgressChart. Creates an empty chart.
+     */
+    public Java2DWeeklyProgressChart() {
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(700, 400)); // Same size as the JFreeChart version
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return this;
+    }
+
+    @Override
+    public void setData(WeeklyProgressData data) {
+        if (data == this.data) {
+            return;
+        }
+        this.data = data;
+        geometryValid = false;
+        repaint();
+    }
+
+    /**
+     * Paints the chart. It is drawn into an image once for each data, size and display scale,
+     * after computing its geometry, and later repaints copy that image.
+     *
+     * @param g The Graphics object used to draw the component.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (!geometryValid || width != geometryWidth || height != geometryHeight) {
+            computeGeometry(width, height);
+            chartImage = null;
+        }
+        // On a scaled (high-DPI) display, draw the image at device resolution
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        AffineTransform displayTransform = (config != null) ? config.getDefaultTransform() : new AffineTransform();
+        double scaleX = displayTransform.getScaleX();
+        double scaleY = displayTransform.getScaleY();
+        if (chartImage == null || scaleX != chartImageScaleX || scaleY != chartImageScaleY) {
+            int imageWidth = (int) Math.ceil(width * scaleX);
+            int imageHeight = (int) Math.ceil(height * scaleY);
+            chartImage = (config != null) ? config.createCompatibleImage(imageWidth, imageHeight)
+                    : new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+            chartImageScaleX = scaleX;
+            chartImageScaleY = scaleY;
+            Graphics2D g2 = chartImage.createGraphics();
+            try {
+                g2.scale(scaleX, scaleY);
+                paintChart(g2, width, height);
+            } finally {
+                g2.dispose();
+            }
+        }
+        g.drawImage(chartImage, 0, 0, width, height, null);
+    }
+
+    /**
+     * Draws the whole chart from the computed geometry.
+     *
+     * @param g2     The Graphics object to draw with.
+     * @param width  The width of the chart.
+     * @param height The height of the chart.
+     */
+    private void paintChart(Graphics2D g2, int width, int height) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setColor(getBackground());
+        g2.fillRect(0, 0, width, height);
+
+        paintTitleAndAxisLabels(g2);
+        paintGridAndTicks(g2);
+        paintSeries(g2);
+        paintLegend(g2);
+    }
+
+    private void paintTitleAndAxisLabels(Graphics2D g2) {
+        g2.setColor(Color.BLACK);
+        g2.setFont(TITLE_FONT);
+        g2.drawString(TITLE, titleX, titleY);
+
+        g2.setFont(AXIS_LABEL_FONT);
+        g2.drawString("Weeks", weeksLabelX, weeksLabelY);
+        AffineTransform transform = g2.getTransform();
+        g2.rotate(-Math.PI / 2, hoursLabelX, hoursLabelY);
+        g2.drawString("Hours", hoursLabelX, hoursLabelY);
+        g2.setTransform(transform);
+    }
+
+    private void paintGridAndTicks(Graphics2D g2) {
+        int left = plotArea.x;
+        int right = plotArea.x + plotArea.width;
+        int bottom = plotArea.y + plotArea.height;
+
+        g2.setStroke(GRID_STROKE);
+        g2.setColor(Color.LIGHT_GRAY);
+        g2.draw(gridLines);
+
+        // Axes
+        g2.setStroke(AXIS_STROKE);
+        g2.setColor(AXIS_COLOR);
+        g2.drawLine(left, plotArea.y, left, bottom);
+        g2.drawLine(left, bottom, right, bottom);
+
+        // Tick labels
+        g2.setFont(TICK_LABEL_FONT);
+        for (int i = 0; i < valueTickY.length; i++) {
+            g2.drawString(valueTickLabels[i], valueTickLabelX[i], valueTickY[i] + valueTickLabelOffset);
+        }
+        for (int i = 0; i < weekLabels.length; i += weekLabelStep) {
+            g2.drawString(weekLabels[i], weekLabelX[i], weekLabelY);
+        }
+    }
+
+    private void paintSeries(Graphics2D g2) {
+        if (pointX.length == 0) {
+            return;
+        }
+        Shape clip = g2.getClip();
+        g2.clipRect(plotArea.x, plotArea.y - 2, plotArea.width, plotArea.height + 4);
+        g2.setStroke(SERIES_STROKE);
+        if (pointX.length == 1) {
+            // A single week has no line to draw, so mark its points
+            g2.setColor(LOGGED_COLOR);
+            g2.fill(new Ellipse2D.Float(pointX[0] - 3, loggedY[0] - 3, 6, 6));
+            g2.setColor(GOAL_COLOR);
+            g2.fill(new Ellipse2D.Float(pointX[0] - 3, goalY - 3, 6, 6));
+        } else {
+            g2.setColor(LOGGED_COLOR);
+            g2.draw(loggedLine);
+            g2.setColor(GOAL_COLOR);
+            g2.draw(goalLine);
+        }
+        g2.setClip(clip);
+    }
+
+    private void paintLegend(Graphics2D g2) {
+        g2.setFont(LEGEND_FONT);
+        FontMetrics metrics = g2.getFontMetrics();
+        int lineY = legendY - metrics.getAscent() / 2 + 1;
+        int x = legendX;
+        g2.setStroke(SERIES_STROKE);
+        for (int i = 0; i < 2; i++) {
+            String label = (i == 0) ? LOGGED_SERIES : GOAL_SERIES;
+            g2.setColor((i == 0) ? LOGGED_COLOR : GOAL_COLOR);
+            g2.drawLine(x, lineY, x + 16, lineY);
+            g2.setColor(Color.BLACK);
+            g2.drawString(label, x + 20, legendY);
+            x += 20 + metrics.stringWidth(label) + 2 * GAP;
+        }
+    }
+
+    /**
+     * Computes the layout of the chart and the lines of both series for the current data and
+     * a given size.
+     *
+     * @param width  The width of the component.
+     * @param height The height of the component.
+     */
+    private void computeGeometry(int width, int height) {
+        FontMetrics titleMetrics = getFontMetrics(TITLE_FONT);
+        FontMetrics axisMetrics = getFontMetrics(AXIS_LABEL_FONT);
+        FontMetrics tickMetrics = getFontMetrics(TICK_LABEL_FONT);
+        FontMetrics legendMetrics = getFontMetrics(LEGEND_FONT);
+
+        // Value axis: a round step giving about TICK_COUNT ticks above zero
+        double maxValue = data.getWeeklyGoal();
+        for (double hours : data.getLoggedHours()) {
+            maxValue = Math.max(maxValue, hours);
+        }
+        double step = niceStep((maxValue > 0) ? maxValue * 1.05 / TICK_COUNT : 1.0 / TICK_COUNT);
+        int tickCount = (int) Math.ceil(Math.max(maxValue * 1.05, step) / step) + 1;
+        double axisMax = step * (tickCount - 1);
+        valueTickLabels = new String[tickCount];
+        int tickLabelWidth = 0;
+        for (int i = 0; i < tickCount; i++) {
+            valueTickLabels[i] = formatTick(step * i, step);
+            tickLabelWidth = Math.max(tickLabelWidth, tickMetrics.stringWidth(valueTickLabels[i]));
+        }
+
+        // Vertical layout: title, plot, week labels, axis label, legend
+        titleY = GAP + titleMetrics.getAscent();
+        int plotTop = titleY + titleMetrics.getDescent() + 2 * GAP;
+        legendY = height - GAP - legendMetrics.getDescent();
+        weeksLabelY = legendY - legendMetrics.getAscent() - GAP - axisMetrics.getDescent();
+        int plotBottom = weeksLabelY - axisMetrics.getAscent() - GAP - tickMetrics.getHeight() - GAP / 2;
+
+        // Horizontal layout: axis label, tick labels, plot
+        hoursLabelX = GAP + axisMetrics.getAscent();
+        int plotLeft = hoursLabelX + axisMetrics.getDescent() + GAP + tickLabelWidth + GAP / 2;
+        int plotRight = width - 2 * GAP;
+        plotArea.setBounds(plotLeft, plotTop, Math.max(1, plotRight - plotLeft), Math.max(1, plotBottom - plotTop));
+
+        titleX = (width - titleMetrics.stringWidth(TITLE)) / 2;
+        weeksLabelX = plotArea.x + (plotArea.width - axisMetrics.stringWidth("Weeks")) / 2;
+        hoursLabelY = plotArea.y + (plotArea.height + axisMetrics.stringWidth("Hours")) / 2;
+        int legendWidth = 40 + legendMetrics.stringWidth(LOGGED_SERIES) + legendMetrics.stringWidth(GOAL_SERIES) + 2 * GAP;
+        legendX = (width - legendWidth) / 2;
+
+        // Grid lines: one per value tick, and one per week through its points (added below)
+        gridLines.reset();
+        valueTickY = new float[tickCount];
+        valueTickLabelX = new float[tickCount];
+        valueTickLabelOffset = tickMetrics.getAscent() / 2f - 1;
+        for (int i = 0; i < tickCount; i++) {
+            valueTickY[i] = toY(step * i, axisMax);
+            valueTickLabelX[i] = plotArea.x - GAP / 2f - tickMetrics.stringWidth(valueTickLabels[i]);
+            gridLines.moveTo(plotArea.x, valueTickY[i]);
+            gridLines.lineTo(plotArea.x + plotArea.width, valueTickY[i]);
+        }
+
+        // Weeks: one category each, with the point in its middle
+        int weekCount = data.size();
+        long[] weeks = data.getWeeks();
+        double[] loggedHours = data.getLoggedHours();
+        pointX = new float[weekCount];
+        loggedY = new float[weekCount];
+        weekLabels = new String[weekCount];
+        weekLabelX = new float[weekCount];
+        weekLabelY = plotArea.y + plotArea.height + GAP / 2f + tickMetrics.getAscent();
+        loggedLine.reset();
+        goalLine.reset();
+        goalY = toY(data.getWeeklyGoal(), axisMax);
+        float categoryWidth = (weekCount > 0) ? plotArea.width / (float) weekCount : 0;
+        int widestLabel = 0;
+        for (int i = 0; i < weekCount; i++) {
+            pointX[i] = plotArea.x + (i + 0.5f) * categoryWidth;
+            loggedY[i] = toY(loggedHours[i], axisMax);
+            weekLabels[i] = "Week " + weeks[i];
+            int labelWidth = tickMetrics.stringWidth(weekLabels[i]);
+            weekLabelX[i] = pointX[i] - labelWidth / 2f;
+            widestLabel = Math.max(widestLabel, labelWidth);
+            gridLines.moveTo(pointX[i], plotArea.y);
+            gridLines.lineTo(pointX[i], plotArea.y + plotArea.height);
+            if (i == 0) {
+                loggedLine.moveTo(pointX[i], loggedY[i]);
+                goalLine.moveTo(pointX[i], goalY);
+            } else {
+                loggedLine.lineTo(pointX[i], loggedY[i]);
+                goalLine.lineTo(pointX[i], goalY);
+            }
+        }
+        // Label every n-th week so labels do not overlap
+        weekLabelStep = (categoryWidth > 0) ? Math.max(1, (int) Math.ceil((widestLabel + GAP) / categoryWidth)) : 1;
+
+        geometryWidth = width;
+        geometryHeight = height;
+        geometryValid = true;
+    }
+
+    private float toY(double value, double axisMax) {
+        return (float) (plotArea.y + plotArea.height - value / axisMax * plotArea.height);
+    }
+
+    /**
+     * Rounds a step of the value axis up to 1, 2 or 5 times a power of ten.
+     *
+     * @param rawStep The smallest acceptable step.
+     * @return The round step.
+     */
+    private static double niceStep(double rawStep) {
+        double magnitude = Math.pow(10, Math.floor(Math.log10(rawStep)));
+        double fraction = rawStep / magnitude;
+        if (fraction <= 1) {
+            return magnitude;
+        } else if (fraction <= 2) {
+            return 2 * magnitude;
+        } else if (fraction <= 5) {
+            return 5 * magnitude;
+        }
+        return 10 * magnitude;
+    }
+
+    /**
+     * Formats a value axis tick, with decimals only when the step needs them.
+     */
+    private static String formatTick(double value, double step) {
+        if (step >= 1) {
+            return Long.toString(Math.round(value));
+        }
+        int decimals = (int) Math.ceil(-Math.log10(step));
+        return String.format("%." + decimals + "f", value);
+    }
+}
@@ -24,7 +24,7 @@ import javax.swing.*;
  * and behavior for displaying the loading screen.
  */
 public class LoadingScreen extends JPanel {
-    private Image backgroundImage;
+    private static final String BACKGROUND_IMAGE = "/Images/Background.png";
 
     /**
      * Constructor for LoadingScreen.
@@ -32,12 +32,12 @@ public class LoadingScreen extends JPanel {
      */
     public LoadingScreen() {
         // Load the background image
-        backgroundImage = new ImageIcon(getClass().getResource("/Images/Background.png")).getImage();
+        ImageCache.load(BACKGROUND_IMAGE);
 
         setLayout(new BorderLayout());
 
         // Load the image as an icon
-        ImageIcon loadingIcon = new ImageIcon(getClass().getResource("/Images/LogoTransparent.png"));
+        ImageIcon loadingIcon = ImageCache.getIcon("/Images/LogoTransparent.png");
         JLabel imageLabel = new JLabel(loadingIcon);
         imageLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
@@ -65,9 +65,7 @@ public class LoadingScreen extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         // Draw the background image to fill the panel
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        }
+        ImageCache.drawBackground(g, BACKGROUND_IMAGE, this);
     }
 
     /**
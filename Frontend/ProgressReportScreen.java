@@ -4,13 +4,14 @@ import java.awt.*;
 import javax.swing.*;
 import Backend.Goal;
 import Backend.Task;
-import Backend.CsvEditor;
+import Backend.DataAccess;
 import Backend.StatisticsService;
 import Backend.User;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 /**
  * <h1>ProgressReportScreen Class</h1>
@@ -36,7 +37,10 @@ public class ProgressReportScreen extends JPanel {
     private DreamChaserApp app; // Reference to the app
     private User user;
     private JPanel contentPanel; // Panel holding progress bars'
-    private Image backgroundImage; // To hold the background image
+    private JLabel messageLabel; // Loading or no goals message
+    private JScrollPane goalScrollPane; // Scrollable list of the goals
+    private final DefaultListModel<GoalProgress> goalListModel = new DefaultListModel<>(); // Goals shown, in order
+    private static final String BACKGROUND_IMAGE = "/Images/AllPageBackground.png";
 
     private StudySessionScreen studySessionScreen;
     private Component buttonPanelWrapper;
@@ -59,7 +63,7 @@ public class ProgressReportScreen extends JPanel {
         this.setOpaque(true);
 
         //load background image from file
-        backgroundImage = new ImageIcon(getClass().getResource("/Images/AllPageBackground.png")).getImage();
+        ImageCache.load(BACKGROUND_IMAGE);
         setLayout(new BorderLayout());
 
         //create the header label
@@ -68,12 +72,40 @@ public class ProgressReportScreen extends JPanel {
         title.setForeground(Color.decode("#021f37"));
         add(title, BorderLayout.NORTH);
 
-        // Content panel to hold progress bars
-        contentPanel = new JPanel();
+        // Content panel to hold the goal list, or a message while loading or when there are no goals
+        contentPanel = new JPanel(new BorderLayout());
         contentPanel.setOpaque(false);
-        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
         add(contentPanel, BorderLayout.CENTER);
 
+        messageLabel = new JLabel("", SwingConstants.CENTER);
+        messageLabel.setFont(new Font("Verdana", Font.PLAIN, 18));
+        messageLabel.setForeground(Color.decode("#021f37"));
+
+        // Goal list: only the visible goals are painted, by a single renderer
+        JList<GoalProgress> goalList = new JList<>(goalListModel);
+        goalList.setCellRenderer(new GoalProgressRenderer());
+        goalList.setFixedCellHeight(GoalProgressRenderer.CELL_HEIGHT);
+        goalList.setFixedCellWidth(GoalProgressRenderer.CELL_WIDTH);
+        goalList.setOpaque(false);
+        goalList.setFocusable(false);
+        goalList.setSelectionModel(new DefaultListSelectionModel() {
+            @Override
+            public void setSelectionInterval(int index0, int index1) {
+                // The report is read-only, so goals cannot be selected
+            }
+
+            @Override
+            public void addSelectionInterval(int index0, int index1) {
+            }
+        });
+
+        goalScrollPane = new JScrollPane(goalList);
+        goalScrollPane.setOpaque(false);
+        goalScrollPane.getViewport().setOpaque(false);
+        goalScrollPane.setBorder(BorderFactory.createEmptyBorder());
+        goalScrollPane.getVerticalScrollBar().setUnitIncrement(GoalProgressRenderer.CELL_HEIGHT / 4);
+        contentPanel.add(goalScrollPane, BorderLayout.CENTER);
+
         // Initial population of progress bars
         updateProgressBars();
         JPanel buttonPanelWrapper = new JPanel(new BorderLayout());
@@ -125,9 +157,7 @@ public class ProgressReportScreen extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         // Draw the background image to fill the panel
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        }
+        ImageCache.drawBackground(g, BACKGROUND_IMAGE, this);
     }
 
     /**
@@ -173,103 +203,88 @@ public class ProgressReportScreen extends JPanel {
 
     /**
      * Updates the progress bars by re-fetching goals and recalculating percentages.
+     * The goals are refreshed in the background; the current bars, or a loading message
+     * on first display, stay visible until the refreshed goals arrive.
      */
     public void updateProgressBars() {
-        contentPanel.removeAll(); // Clear previous progress bars
         user = app.getCurrentUser();
-        user.setGoalsAndTasks();
-        List<Goal> goals = user.getGoals();
-        System.out.println("PROGRESS BAR GOALS:" + goals);
-
-        // Use a HashSet to track displayed goal names
-        Set<String> displayedGoalNames = new HashSet<>();
-
-        //use grid bag layout for alignment
-        contentPanel.setLayout(new GridBagLayout());
-        GridBagConstraints gridBagConstraints = new GridBagConstraints();
-        // Add spacing between components
-        gridBagConstraints.insets = new Insets(20, 0, 20, 0);
-        // No automatic resizing
-        gridBagConstraints.fill = GridBagConstraints.NONE;
-        gridBagConstraints.gridx = 0;
-
-        //only display progress bars if there is a goal to display
-        if (goals.isEmpty()) {
-            JLabel noGoalsLabel = new JLabel("No goals available.", SwingConstants.CENTER);
-            noGoalsLabel.setFont(new Font("Verdana", Font.PLAIN, 18));
-            noGoalsLabel.setForeground(Color.decode("#021f37"));
-            gridBagConstraints.gridy = 0;
-            contentPanel.add(noGoalsLabel, gridBagConstraints);
-        } else {
-            //track rows for alignment
-            int row = 0;
-            for (Goal goal : goals) {
-                // Skip duplicate goal names
-                if (displayedGoalNames.contains(goal.getGoalName())) {
-                    continue;
-                }
-                displayedGoalNames.add(goal.getGoalName());
+        if (goalListModel.isEmpty()) {
+            showMessage("Loading goals...");
+        }
+        DataAccess.refreshUser(user).thenAcceptAsync(this::showProgressBars, SwingUtilities::invokeLater);
+    }
 
-                int totalTasks = goal.getTasks().size();
-                int completedTasks = (int) goal.getTasks().stream().filter(Task::isComplete).count();
+    /**
+     * Brings the goal list up to date with a user's goals. Only the goals whose values changed
+     * are replaced in the list model, goals are inserted or removed where they were created or
+     * deleted, and the list repaints just the visible goals that are affected.
+     *
+     * @param refreshedUser The user whose goals were just refreshed.
+     */
+    private void showProgressBars(User refreshedUser) {
+        List<GoalProgress> progressList = GoalProgress.fromGoals(refreshedUser.getGoals(), statsService);
 
-                // Calculate completion percentage
-                int progressValue;
-                if (totalTasks > 0) {
-                    progressValue = (completedTasks * 100) / totalTasks;
-                } else {
-                    progressValue = 0;
+        // Remove the goals that were deleted
+        Set<String> goalNames = new HashSet<>();
+        for (GoalProgress progress : progressList) {
+            goalNames.add(progress.getGoalName());
+        }
+        for (int i = goalListModel.size() - 1; i >= 0; i--) {
+            if (!goalNames.contains(goalListModel.get(i).getGoalName())) {
+                goalListModel.remove(i);
+            }
+        }
+
+        // Walk both lists in order, updating changed goals and inserting new or moved ones
+        for (int i = 0; i < progressList.size(); i++) {
+            GoalProgress progress = progressList.get(i);
+            if (i < goalListModel.size() && goalListModel.get(i).getGoalName().equals(progress.getGoalName())) {
+                if (!goalListModel.get(i).equals(progress)) {
+                    goalListModel.set(i, progress);
                 }
-                // Calculate days left
-                String dueDate = goal.getDueDate();
-                long daysLeft = statsService.calculateDaysLeft(dueDate);
-                String daysLeftText = (daysLeft >= 0) ? daysLeft + " Days Left" : "Due Date Passed";
-
-                // Goal title label
-                JLabel goalLabel = new JLabel(goal.getGoalName(), SwingConstants.CENTER);
-                goalLabel.setFont(new Font("Verdana", Font.BOLD, 24)); // Larger font for the goal title
-                goalLabel.setForeground(Color.decode("#021f37"));
-                gridBagConstraints.gridy = row++;
-                contentPanel.add(goalLabel, gridBagConstraints);
-
-                // Days left label under the goal title
-                JLabel daysLeftLabel = new JLabel(daysLeftText, SwingConstants.CENTER);
-                daysLeftLabel.setFont(new Font("Verdana", Font.PLAIN, 18));
-                daysLeftLabel.setForeground(Color.decode("#021f37"));
-                gridBagConstraints.gridy = row++;
-                contentPanel.add(daysLeftLabel, gridBagConstraints);
-
-                // Custom-styled progress bar
-                JProgressBar progressBar = new JProgressBar(0, 100) {
-                    @Override
-                    protected void paintComponent(Graphics g) {
-                        Graphics2D g2 = (Graphics2D) g;
-                        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                        // Fill the off-white background
-                        g2.setColor(Color.decode("#f5f5f5")); // Off-white color
-                        g2.fillRoundRect(0, 0, getWidth(), getHeight(), 20, 20);
-
-                        // Fill the progress portion
-                        int progressWidth = (int) (getWidth() * ((double) getValue() / getMaximum()));
-                        g2.setColor(Color.decode("#021f37")); // Navy blue color
-                        g2.fillRoundRect(0, 0, progressWidth, getHeight(), 20, 20);
-                    }
-                };
+                continue;
+            }
+            for (int j = i + 1; j < goalListModel.size(); j++) {
+                if (goalListModel.get(j).getGoalName().equals(progress.getGoalName())) {
+                    goalListModel.remove(j); // Moved up from later in the list
+                    break;
+                }
+            }
+            goalListModel.add(i, progress);
+        }
 
-                //set size and value of progress bar
-                progressBar.setValue(progressValue);
-                progressBar.setPreferredSize(new Dimension(600, 25));
-                progressBar.setBorder(BorderFactory.createEmptyBorder());
-                gridBagConstraints.gridy = row++;
+        if (progressList.isEmpty()) {
+            showMessage("No goals available.");
+        } else {
+            showGoalList();
+        }
+    }
 
-                //add the progress bar to the grid
-                contentPanel.add(progressBar, gridBagConstraints);
-            }
+    /**
+     * Shows a message in place of the goal list.
+     *
+     * @param text The message.
+     */
+    private void showMessage(String text) {
+        messageLabel.setText(text);
+        if (messageLabel.getParent() != contentPanel) {
+            contentPanel.remove(goalScrollPane);
+            contentPanel.add(messageLabel, BorderLayout.CENTER);
+            contentPanel.revalidate();
+            contentPanel.repaint();
         }
+    }
 
-        contentPanel.revalidate();
-        contentPanel.repaint();
+    /**
+     * Shows the goal list, if a message was shown instead.
+     */
+    private void showGoalList() {
+        if (goalScrollPane.getParent() != contentPanel) {
+            contentPanel.remove(messageLabel);
+            contentPanel.add(goalScrollPane, BorderLayout.CENTER);
+            contentPanel.revalidate();
+            contentPanel.repaint();
+        }
     }
 
     /**
@@ -432,11 +447,22 @@ public class ProgressReportScreen extends JPanel {
                     return;
                 }
 
-                CsvEditor.logTimeToTask(app.getCurrentUser().getUsername(), goal.getGoalName(), task.getTaskName(), hours, minutes);
-                JOptionPane.showMessageDialog(addTimeDialog, "Time added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                // Log the time in the background, then report back on the event thread
+                addButton.setEnabled(false);
+                DataAccess.logTimeToTask(app.getCurrentUser(), goal.getGoalName(), task.getTaskName(), hours, minutes)
+                        .whenCompleteAsync((updatedUser, error) -> {
+                            if (error != null) {
+                                addButton.setEnabled(true);
+                                Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                                JOptionPane.showMessageDialog(addTimeDialog, "Error: " + cause.getMessage(),
+                                        "Error", JOptionPane.ERROR_MESSAGE);
+                                return;
+                            }
+                            JOptionPane.showMessageDialog(addTimeDialog, "Time added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
 
-                refreshContent();
-                addTimeDialog.dispose();
+                            refreshContent();
+                            addTimeDialog.dispose();
+                        }, SwingUtilities::invokeLater);
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(addTimeDialog, "Please enter valid numbers for hours and minutes.",
                         "Error", JOptionPane.ERROR_MESSAGE);
@@ -1,15 +1,15 @@
 package Frontend;
 
 import Backend.CsvEditor;
+import Backend.DataAccess;
 import Backend.User;
 
 
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * <h1>SignInScreen Class</h1>
@@ -32,12 +32,12 @@ public class SignInScreen extends JPanel {
     private JPanel mainPanel;
     private boolean passwordChecker;
     private DreamChaserApp app; // Reference to the app
-    private static final String USERS_FILE = "UserData/users.csv";
 
     private JTextField usernameField;
     private JPasswordField passwordField;
     private JCheckBox showPasswordCheckBox;
-    private Image backgroundImage; // Background image
+    private JButton signInButton; // Disabled while a sign-in is in progress
+    private static final String BACKGROUND_IMAGE = "/Images/AllPageBackground.png";
 
     /**
      * Constructor for the SignInScreen class. Initializes the sign-in screen layout and components.
@@ -52,7 +52,7 @@ public class SignInScreen extends JPanel {
         this.app = app;
 
         // Load background image
-        backgroundImage = new ImageIcon(getClass().getResource("/Images/AllPageBackground.png")).getImage();
+        ImageCache.load(BACKGROUND_IMAGE);
 
         setLayout(new GridBagLayout());
         setOpaque(false); // Make panel transparent to show background
@@ -112,7 +112,7 @@ public class SignInScreen extends JPanel {
         add(showPasswordCheckBox, gbc);
 
         // Sign In Button
-        JButton signInButton = createStyledButton("Sign In");
+        signInButton = createStyledButton("Sign In");
         signInButton.addActionListener(e -> handleSignIn());
         gbc.gridx = 0;
         gbc.gridy = 4;
@@ -136,9 +136,7 @@ public class SignInScreen extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        }
+        ImageCache.drawBackground(g, BACKGROUND_IMAGE, this);
     }
 
     /**
@@ -224,39 +222,22 @@ public class SignInScreen extends JPanel {
     }
 
     /**
-     * Matches the entered username and password with the records in the users CSV file.
+     * Matches the entered username and password with the stored user records.
+     * The lookup uses CsvEditor's credential index, so the users CSV file is not scanned.
      *
      * @param inputUsername The username entered by the user.
      * @param inputPassword The password entered by the user.
-     * @return boolean Returns true if the username and password match any record in the CSV file, otherwise false.
+     * @return boolean Returns true if the username and password match a stored record, otherwise false.
      */
     public static boolean matchUsernameAndPassword(String inputUsername, String inputPassword) {
-        CsvEditor.ensureDirectoryExists(USERS_FILE);
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(USERS_FILE))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] columns = line.split(",");
-                if (columns.length == 2) {
-                    String username = columns[0].trim();
-                    String password = columns[1].trim();
-
-                    // Check if the input username and password match
-                    if (username.equals(inputUsername) && password.equals(inputPassword)) {
-                        return true; // Match found
-                    }
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return false; // No match found
+        return CsvEditor.matchCredentials(inputUsername, inputPassword);
     }
 
     /**
      * Handles the sign-in process, including validation of the entered credentials.
      * If the credentials are correct, the user is logged in, and the appropriate screen is shown.
+     * The credentials are checked and the user is loaded in the background; the Sign In button
+     * is disabled until the result arrives.
      */
     private void handleSignIn() {
         String username = usernameField.getText().trim();
@@ -268,47 +249,59 @@ public class SignInScreen extends JPanel {
             return;
         }
 
-        // Validate username and password
-        passwordChecker = matchUsernameAndPassword(username, password);
-
-        if (passwordChecker) {
-            // Successful login
-            JOptionPane.showMessageDialog(this, "Welcome, " + username + "!", "Success", JOptionPane.INFORMATION_MESSAGE);
-//            TrackCurrentUser.setCurrentUser(username); // Set the current user
-            app.setCurrentUser(new User(username)); // Set the current user in the app
-            app.initializeScreens(); // Initialize other screens dynamically
-            handleScreenTransition(); // Transition to the next screen
-        } else {
-            // Incorrect username or password
-            JOptionPane.showMessageDialog(this, "Incorrect username or password. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        // Validate the credentials off the event thread
+        signInButton.setEnabled(false);
+        signInButton.setText("Signing In...");
+        DataAccess.matchCredentials(username, password)
+                .whenCompleteAsync((match, error) -> {
+                    signInButton.setEnabled(true);
+                    signInButton.setText("Sign In");
+                    passwordChecker = Boolean.TRUE.equals(match);
+
+                    if (error != null) {
+                        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                        JOptionPane.showMessageDialog(this, "Error: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    } else if (passwordChecker) {
+                        // Successful login
+//                        TrackCurrentUser.setCurrentUser(username); // Set the current user
+                        handleScreenTransition(username); // Load in the background and move on once loaded
+                    } else {
+                        // Incorrect username or password
+                        JOptionPane.showMessageDialog(this, "Incorrect username or password. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }, SwingUtilities::invokeLater);
     }
 
     /**
      * Handles the transition to the next screen after a successful login.
-     * Displays the LoadingScreen first and then transitions to the ProgressReport screen.
+     * Displays the LoadingScreen while the user's goals and tasks are loaded and the other
+     * screens' images and chart classes are warmed up in parallel, then builds the screens
+     * and shows the ProgressReport screen as soon as that work is done.
+     *
+     * @param username The username of the user who signed in.
      */
-    private void handleScreenTransition() {
+    private void handleScreenTransition(String username) {
         // Show the LoadingScreen immediately
         cardLayout.show(mainPanel, "Loading");
 
-        // Use SwingWorker to perform initialization in the background
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
-            @Override
-            protected Void doInBackground() throws InterruptedException {
-                // Simulate a loading process (e.g., initialize resources)
-                Thread.sleep(3000); // Show LoadingScreen for 3 seconds
-                return null;
-            }
-
-            @Override
-            protected void done() {
-                // After the loading is complete, show the ProgressReport screen
-                app.navigateToScreen("ProgressReport");
+        // Start loading before the welcome message, so the work runs while it is read
+        // Warming up is only an optimisation, so a failure there must not block signing in
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(DreamChaserApp::warmUpResources)
+                .exceptionally(e -> null);
+        CompletableFuture<User> loading = DataAccess.readUser(username)
+                .thenCombine(warmUp, (user, warmedUp) -> user);
+        JOptionPane.showMessageDialog(this, "Welcome, " + username + "!", "Success", JOptionPane.INFORMATION_MESSAGE);
+
+        loading.whenCompleteAsync((user, error) -> {
+            if (error != null || user == null) {
+                JOptionPane.showMessageDialog(this, "Error: could not load your goals. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                cardLayout.show(mainPanel, "SignIn");
+                return;
             }
-        };
-
-        worker.execute(); // Start the background task
+            app.setCurrentUser(user); // The user and their goals were loaded in one batch
+            app.initializeScreens(); // The screens find their images already decoded
+            app.navigateToScreen("ProgressReport");
+        }, SwingUtilities::invokeLater);
     }
 
 }
@@ -1,10 +1,11 @@
 package Frontend;
 
-import Backend.CsvEditor;
+import Backend.DataAccess;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * <h1>SignUpScreen Class</h1>
@@ -28,7 +29,7 @@ public class SignUpScreen extends JPanel {
     private JPasswordField passwordField;
     private JPasswordField confirmPasswordField;
     private JCheckBox showPasswordCheckBox;
-    private Image backgroundImage; // Background image
+    private static final String BACKGROUND_IMAGE = "/Images/AllPageBackground.png";
 
     /**
      * This method initializes the SignUpScreen, setting up the layout, and adding components such as labels,
@@ -42,7 +43,7 @@ public class SignUpScreen extends JPanel {
         this.mainPanel = mainPanel;
 
         // Load background image
-        backgroundImage = new ImageIcon(getClass().getResource("/Images/AllPageBackground.png")).getImage();
+        ImageCache.load(BACKGROUND_IMAGE);
 
         setLayout(new GridBagLayout());
         setOpaque(false); // Make panel transparent to show background
@@ -141,9 +142,7 @@ public class SignUpScreen extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        }
+        ImageCache.drawBackground(g, BACKGROUND_IMAGE, this);
     }
 
     /**
@@ -263,17 +262,21 @@ public class SignUpScreen extends JPanel {
             JOptionPane.showMessageDialog(this, "Passwords do not match.", "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        List<String> usernames = CsvEditor.readUsernames(); // Fetch all existing usernames
-
-        if (usernames.contains(username)) {
-            JOptionPane.showMessageDialog(this, "Username already exists.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        CsvEditor.writeUser(username, password);
-
-        JOptionPane.showMessageDialog(this, "Sign Up Successful! Welcome, " + username + "!", "Success", JOptionPane.INFORMATION_MESSAGE);
-        cardLayout.show(mainPanel, "SignIn");
+        // Check the username and save the user in the background
+        DataAccess.usernameExists(username) // Constant-time check against the credential index
+                .thenCompose(exists -> exists ? CompletableFuture.completedFuture(false)
+                        : DataAccess.writeUser(username, password).thenApply(written -> true))
+                .whenCompleteAsync((created, error) -> {
+                    if (error != null) {
+                        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                        JOptionPane.showMessageDialog(this, "Error: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    } else if (!created) {
+                        JOptionPane.showMessageDialog(this, "Username already exists.", "Error", JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Sign Up Successful! Welcome, " + username + "!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        cardLayout.show(mainPanel, "SignIn");
+                    }
+                }, SwingUtilities::invokeLater);
     }
 
     /**
@@ -3,19 +3,12 @@ package Frontend;
 import java.awt.*;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
-import org.jfree.chart.JFreeChart;
-import org.jfree.chart.plot.CategoryPlot;
-import org.jfree.chart.plot.PiePlot3D;
-import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.chart.renderer.category.LineAndShapeRenderer;
-import org.jfree.data.category.DefaultCategoryDataset;
-import org.jfree.data.general.DefaultPieDataset;
-import org.jfree.util.Rotation;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import Backend.*;
 
@@ -41,7 +34,19 @@ public class StatisticsScreen extends JPanel {
     private DreamChaserApp app; // Reference to the app
     private String currentGoal;
     private StatisticsService statsService;
-    private Image backgroundImage; // To hold the background image
+    private static final String BACKGROUND_IMAGE = "/Images/AllPageBackground.png";
+
+    // Built once and reused for every goal; only their data is swapped
+    private JLabel titleLabel;
+    private CardLayout contentLayout; // Switches between the loading message and the statistics
+    private JPanel contentPanel;
+    private JProgressBar progressBar;
+    private WeeklyProgressChart weeklyProgressChart;
+    private JTable incompleteTasksTable;
+
+    // Chart and table data of each goal shown so far, reused until the goal's data changes
+    private final Map<String, GoalView> goalViews = new HashMap<>();
+    private String goalViewsUsername;
 
     /**
      * Constructor for the StatisticsScreen class.
@@ -56,14 +61,27 @@ public class StatisticsScreen extends JPanel {
         this.mainPanel = mainPanel;
         this.app = app;
         this.statsService = new StatisticsService();
-        this.backgroundImage = new ImageIcon(getClass().getResource("/Images/AllPageBackground.png")).getImage();
+        ImageCache.load(BACKGROUND_IMAGE);
 
         setLayout(new BorderLayout());
 
-        JLabel title = new JLabel("Statistics", SwingConstants.CENTER);
-        title.setFont(new Font("Arial", Font.BOLD, 24));
-        title.setForeground(Color.decode("#021f37"));
-        add(title, BorderLayout.NORTH);
+        titleLabel = new JLabel("Statistics", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
+        titleLabel.setForeground(Color.decode("#021f37"));
+        add(titleLabel, BorderLayout.NORTH);
+
+        JLabel loadingLabel = new JLabel("Loading statistics...", SwingConstants.CENTER);
+        loadingLabel.setFont(new Font("Arial", Font.PLAIN, 20));
+        loadingLabel.setForeground(Color.decode("#021f37"));
+
+        contentLayout = new CardLayout();
+        contentPanel = new JPanel(contentLayout);
+        contentPanel.setOpaque(false);
+        contentPanel.add(loadingLabel, "Loading");
+        contentPanel.add(createStatsPanel(), "Statistics");
+        add(contentPanel, BorderLayout.CENTER);
+
+        add(createButtonPanel(), BorderLayout.SOUTH);
     }
 
     /**
@@ -75,63 +93,113 @@ public class StatisticsScreen extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         // Draw the background image
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        }
+        ImageCache.drawBackground(g, BACKGROUND_IMAGE, this);
     }
 
     /**
      * Sets the goal name and refreshes the content of the statistics screen.
+     * A goal shown before is displayed again right away; its statistics are only computed
+     * again if the goal's data was written since, or if they were computed on another day,
+     * since the weekly goal depends on the days left.
      *
      * @param goalName The name of the goal to display statistics for.
      */
     public void setGoal(String goalName) {
         this.currentGoal = goalName;
-        refreshContent();
+        String username = app.getCurrentUser().getUsername();
+        if (!username.equals(goalViewsUsername)) {
+            goalViews.clear(); // Another user signed in
+            goalViewsUsername = username;
+        }
+
+        titleLabel.setText("Statistics for: " + goalName);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 36)); // Increased font size
+        GoalView cachedView = goalViews.get(goalName);
+        if (cachedView != null) {
+            showGoalView(cachedView);
+        } else {
+            contentLayout.show(contentPanel, "Loading");
+        }
+
+        // Check the goal's version in the background, and compute the statistics if it or the date changed
+        DataAccess.goalVersion(username, goalName)
+                .thenCompose(version -> (cachedView != null && cachedView.isCurrent(version))
+                        ? CompletableFuture.completedFuture(cachedView)
+                        : DataAccess.goalStatistics(username, goalName)
+                                .thenApply(statistics -> createGoalView(version, statistics)))
+                .whenCompleteAsync((view, error) -> {
+                    if (error != null) {
+                        if (goalName.equals(currentGoal)) {
+                            Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                            JOptionPane.showMessageDialog(this, "Error: " + cause.getMessage(),
+                                    "Statistics Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                        return;
+                    }
+                    if (!username.equals(goalViewsUsername)) {
+                        return; // Another user signed in in the meantime
+                    }
+                    goalViews.put(goalName, view);
+                    if (view != cachedView && goalName.equals(currentGoal)) {
+                        showGoalView(view);
+                    }
+                }, SwingUtilities::invokeLater);
     }
 
     /**
-     * Refreshes the content on the statistics screen by fetching updated data and rendering it.
-     * This includes the progress bar, charts, and table of tasks.
+     * Shows a goal's statistics by swapping its data into the progress bar, chart and table.
+     *
+     * @param view The chart and table data of the goal.
      */
-    private void refreshContent() {
-        removeAll();
-        setLayout(new BorderLayout());
+    private void showGoalView(GoalView view) {
+        progressBar.setValue((int) view.completionPercentage);
+        weeklyProgressChart.setData(view.weeklyProgress);
+        incompleteTasksTable.setModel(view.incompleteTasks);
+        contentLayout.show(contentPanel, "Statistics");
+    }
 
-        // Title Label
-        JLabel titleLabel = new JLabel("Statistics for: " + currentGoal, SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 36)); // Increased font size
-        titleLabel.setForeground(Color.decode("#021f37"));
-        add(titleLabel, BorderLayout.NORTH);
+    /**
+     * Creates the chart and table data of a goal from its statistics snapshot. The data is
+     * not attached to any component yet, so this may run on a background thread.
+     *
+     * @param version    The version of the goal's data the statistics were computed from.
+     * @param statistics The statistics of the goal.
+     * @return The chart and table data of the goal.
+     */
+    private GoalView createGoalView(long version, GoalStatistics statistics) {
+        LocalDate computedOn = LocalDate.now(); // Taken first, so a view computed across midnight counts as stale
+        // Every statistic for the goal comes from one snapshot
+        int[] totalTimeToComplete = statistics.getTotalTimeToComplete();
+        double weeklyGoal = statsService.calculateWeeklyHourGoal(
+                totalTimeToComplete[0], statistics.getDueDate()
+        );
+
+        WeeklyProgressData weeklyProgress =
+                WeeklyProgressData.fromLoggedMinutes(statistics.getWeeklyLoggedMinutes(), weeklyGoal);
+        return new GoalView(version, computedOn, statistics.getCompletionPercentage(), weeklyProgress,
+                createIncompleteTasksModel(statistics.getIncompleteTasks()));
+    }
 
+    /**
+     * Creates the panel holding the progress bar, the weekly progress chart and the table of
+     * incomplete tasks.
+     *
+     * @return The statistics panel.
+     */
+    private JPanel createStatsPanel() {
         JPanel statsPanel = new JPanel();
         statsPanel.setOpaque(false); // Transparent for background visibility
         statsPanel.setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(20, 20, 20, 20); // Larger spacing between elements
 
-        // Fetch data for charts and table
-        double completionPercentage = statsService.calculateTaskCompletionPercentage(
-                app.getCurrentUser().getUsername(), currentGoal
-        );
-        int[] totalTimeToComplete = statsService.calculateTotalTimeToComplete(
-                app.getCurrentUser().getUsername(), currentGoal
-        );
-        double weeklyGoal = statsService.calculateWeeklyHourGoal(
-                totalTimeToComplete[0], CsvEditor.readGoalDueDate(app.getCurrentUser().getUsername(), currentGoal)
-        );
-        Map<Long, Integer> weeklyLoggedTime = statsService.groupLoggedTimeByWeek(
-                currentGoal, app.getCurrentUser().getUsername()
-        );
-
         // Progress Bar for Completed Tasks
         gbc.gridx = 0;
         gbc.gridy = 0;
         gbc.gridwidth = 2; // Span across both graph and table
         gbc.fill = GridBagConstraints.HORIZONTAL;
 
-        JProgressBar progressBar = new JProgressBar(0, 100);
-        progressBar.setValue((int) completionPercentage);
+        progressBar = new JProgressBar(0, 100);
         progressBar.setStringPainted(true);
         progressBar.setForeground(Color.decode("#021f37")); // Navy blue for progress
         progressBar.setBackground(Color.white); // Light gray for background
@@ -144,7 +212,12 @@ public class StatisticsScreen extends JPanel {
         gbc.gridy = 1;
         gbc.gridwidth = 1;
         gbc.fill = GridBagConstraints.BOTH; // Expand to fill space
-        statsPanel.add(createWeeklyProgressChart(weeklyGoal, weeklyLoggedTime), gbc);
+        // JFreeChart by default, or the Java2D chart if selected with CHART_RENDERER=java2d
+        weeklyProgressChart = WeeklyProgressChart.create();
+        JPanel chartPanel = new JPanel(new BorderLayout());
+        chartPanel.setOpaque(false);
+        chartPanel.add(weeklyProgressChart.getComponent(), BorderLayout.CENTER);
+        statsPanel.add(chartPanel, gbc);
 
         // Table of Incomplete Tasks
         gbc.gridx = 1;
@@ -152,8 +225,15 @@ public class StatisticsScreen extends JPanel {
         gbc.fill = GridBagConstraints.BOTH; // Expand to fill space
         statsPanel.add(createIncompleteTasksTablePanel(), gbc);
 
-        add(statsPanel, BorderLayout.CENTER);
+        return statsPanel;
+    }
 
+    /**
+     * Creates the panel with the button leading back to the progress report.
+     *
+     * @return The button panel.
+     */
+    private JPanel createButtonPanel() {
         // Back Button Panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         buttonPanel.setOpaque(false); // Transparent for background visibility
@@ -194,68 +274,18 @@ public class StatisticsScreen extends JPanel {
         backButton.addActionListener(e -> cardLayout.show(mainPanel, "ProgressReport")); // Navigate to Progress Report
 
         buttonPanel.add(backButton);
-
-        // Add Button Panel to South Region
-        add(buttonPanel, BorderLayout.SOUTH);
-
-        revalidate();
-        repaint();
+        return buttonPanel;
     }
 
     /**
-     * Creates a weekly progress chart comparing the logged time to the weekly goal.
-     *
-     * @param weeklyGoal The goal for the user to complete each week.
-     * @param weeklyLoggedTime A map containing the logged time for each week.
-     * @return JPanel containing the chart.
-     */
-    private JPanel createWeeklyProgressChart(double weeklyGoal, Map<Long, Integer> weeklyLoggedTime) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        for (Map.Entry<Long, Integer> entry : weeklyLoggedTime.entrySet()) {
-            dataset.addValue(entry.getValue(), "Logged Time", "Week " + entry.getKey());
-            dataset.addValue(weeklyGoal, "Weekly Goal", "Week " + entry.getKey());
-        }
-
-        JFreeChart lineChart = ChartFactory.createLineChart(
-                "Weekly Goal vs Logged Time",
-                "Weeks",
-                "Hours",
-                dataset,
-                PlotOrientation.VERTICAL,
-                true,
-                true,
-                false
-        );
-
-        lineChart.getTitle().setFont(new Font("Arial", Font.BOLD, 24)); // Larger chart title
-        CategoryPlot plot = lineChart.getCategoryPlot();
-        plot.setBackgroundPaint(Color.WHITE);
-        plot.setOutlineVisible(false);
-        plot.setDomainGridlinesVisible(true);
-        plot.setDomainGridlinePaint(Color.LIGHT_GRAY);
-        plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
-
-        // Increase font size for axis labels and tick marks
-        plot.getDomainAxis().setLabelFont(new Font("Arial", Font.BOLD, 18)); // X-axis label
-        plot.getDomainAxis().setTickLabelFont(new Font("Arial", Font.PLAIN, 16)); // X-axis ticks
-        plot.getRangeAxis().setLabelFont(new Font("Arial", Font.BOLD, 18)); // Y-axis label
-        plot.getRangeAxis().setTickLabelFont(new Font("Arial", Font.PLAIN, 16)); // Y-axis ticks
-
-        ChartPanel chartPanel = new ChartPanel(lineChart);
-        chartPanel.setPreferredSize(new Dimension(700, 400)); // Larger chart dimensions
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setOpaque(false);
-        panel.add(chartPanel, BorderLayout.CENTER);
-        return panel;
-    }
-
-    /**
-     * Creates a panel containing a table of incomplete tasks for the current goal.
+     * Creates a panel containing the table of incomplete tasks. The table starts empty; each
+     * goal's tasks are set as its model by showGoalView.
      *
      * @return JPanel containing the tasks table.
      */
     private JPanel createIncompleteTasksTablePanel() {
-        JTable table = createIncompleteTasksTable();
+        JTable table = createIncompleteTasksTable(createIncompleteTasksModel(List.of()));
+        incompleteTasksTable = table;
         table.setFont(new Font("Arial", Font.PLAIN, 18)); // Larger font for table cells
         table.setForeground(Color.decode("#021f37")); // Navy blue font color for table cells
         table.setRowHeight(30); // Larger row height for better readability
@@ -290,26 +320,33 @@ public class StatisticsScreen extends JPanel {
     }
 
     /**
-     * Creates a JTable that displays incomplete tasks with their time to complete in hours and minutes.
-     * The tasks are fetched from the StatisticsService for the current user's goal.
+     * Creates a table model listing incomplete tasks with their time to complete in hours and minutes.
+     * The tasks come from the statistics snapshot of the current user's goal.
      *
-     * @return JTable displaying incomplete tasks with their estimated completion times in hours and minutes.
+     * @param tasks The incomplete tasks of the current goal.
+     * @return The table model, with one row per task.
      */
-    private JTable createIncompleteTasksTable() {
+    private static DefaultTableModel createIncompleteTasksModel(List<Task> tasks) {
         // Define the column names for the table
         String[] columnNames = {"Task Name", "Time to Complete (Hours)", "Time to Complete (Minutes)"};
 
         // Create a table model with the column names and initialize with no rows
         DefaultTableModel tableModel = new DefaultTableModel(columnNames, 0);
 
-        // Fetch the list of incomplete tasks for the current user's goal
-        List<Task> tasks = statsService.getIncompleteTasks(app.getCurrentUser().getUsername(), currentGoal);
-
         // Add each task to the table model
         for (Task task : tasks) {
             tableModel.addRow(new Object[]{task.getTaskName(), task.getTimeToCompleteHours(), task.getTimeToCompleteMinutes()});
         }
+        return tableModel;
+    }
 
+    /**
+     * Creates a JTable that displays incomplete tasks with their time to complete in hours and minutes.
+     *
+     * @param tableModel The tasks to show first.
+     * @return JTable displaying incomplete tasks with their estimated completion times in hours and minutes.
+     */
+    private JTable createIncompleteTasksTable(DefaultTableModel tableModel) {
         // Create a JTable from the table model
         JTable table = new JTable(tableModel);
 
@@ -321,4 +358,35 @@ public class StatisticsScreen extends JPanel {
 
         return table;
     }
+
+    /**
+     * The chart and table data of a goal, together with the version of the goal's data it was
+     * computed from and the day it was computed on.
+     */
+    private static final class GoalView {
+        private final long version;
+        private final LocalDate computedOn;
+        private final double completionPercentage;
+        private final WeeklyProgressData weeklyProgress;
+        private final DefaultTableModel incompleteTasks;
+
+        GoalView(long version, LocalDate computedOn, double completionPercentage, WeeklyProgressData weeklyProgress,
+                 DefaultTableModel incompleteTasks) {
+            this.version = version;
+            this.computedOn = computedOn;
+            this.completionPercentage = completionPercentage;
+            this.weeklyProgress = weeklyProgress;
+            this.incompleteTasks = incompleteTasks;
+        }
+
+        /**
+         * Checks whether the view still matches the goal: computed today from the same data.
+         *
+         * @param currentVersion The current version of the goal's data.
+         * @return True if the view can be shown without computing it again.
+         */
+        boolean isCurrent(long currentVersion) {
+            return version == currentVersion && computedOn.equals(LocalDate.now());
+        }
+    }
 }
@@ -1,12 +1,12 @@
 package Frontend;
 
-import Backend.CsvEditor;
+import Backend.DataAccess;
 import Backend.MusicPlayer;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.Map;
-import Backend.User;
+import java.util.concurrent.CompletionException;
 
 /**
  * <h1>StudySessionScreen Class</h1>
@@ -33,7 +33,7 @@ public class StudySessionScreen extends JPanel {
     private Timer timer;
     private int timeInSeconds = 0;
     private boolean isRunning = false;
-    private Image backgroundImage;
+    private static final String BACKGROUND_IMAGE = "/Images/AllPageBackground.png";
     private DreamChaserApp app;
     private JLabel goalLabel;
     private String username;
@@ -64,7 +64,7 @@ public class StudySessionScreen extends JPanel {
         this.musicPlayer = new MusicPlayer();
 
         // Load the background image
-        backgroundImage = new ImageIcon(getClass().getResource("/Images/AllPageBackground.png")).getImage();
+        ImageCache.load(BACKGROUND_IMAGE);
 
         setLayout(new BorderLayout());
 
@@ -175,9 +175,7 @@ public class StudySessionScreen extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        }
+        ImageCache.drawBackground(g, BACKGROUND_IMAGE, this);
     }
 
     /**
@@ -269,11 +267,19 @@ public class StudySessionScreen extends JPanel {
         if (timeInSeconds > 0) {
             int hours = timeInSeconds / 3600;
             int minutes = (timeInSeconds % 3600) / 60;
-            CsvEditor.logTimeToTask(username, goalName, taskName, hours, minutes);
-
-            User user = app.getCurrentUser();
-            user.setGoalsAndTasks();
-            System.out.printf("Logged %d hours and %d minutes to task '%s' under goal '%s'.\n", hours, minutes, taskName, goalName);
+            String loggedGoal = goalName;
+            String loggedTask = taskName;
+            // Runs in the background; data calls run in order, so the Progress Report refresh sees it
+            DataAccess.logTimeToTask(app.getCurrentUser(), loggedGoal, loggedTask, hours, minutes)
+                    .whenCompleteAsync((user, error) -> {
+                        if (error != null) {
+                            Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                            JOptionPane.showMessageDialog(this, "Could not log the study time: " + cause.getMessage(),
+                                    "Logging Error", JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
+                        System.out.printf("Logged %d hours and %d minutes to task '%s' under goal '%s'.\n", hours, minutes, loggedTask, loggedGoal);
+                    }, SwingUtilities::invokeLater);
         } else {
             System.out.println("No time logged during this session.");
         }
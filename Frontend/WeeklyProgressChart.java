@@ -0,0 +1,57 @@
+package Frontend;
+
+import javax.swing.JComponent;
+
+/**
+ * <h1>WeeklyProgressChart Interface</h1>
+ * The WeeklyProgressChart interface is the "Weekly Goal vs Logged Time" chart of the
+ * StatisticsScreen, which can be drawn by JFreeChart or by a lightweight Java2D component.
+ *
+ * <p>Usage:
+ * Call create to get the chart selected by the CHART_RENDERER system property: "java2d" for
+ * Java2DWeeklyProgressChart, anything else for JFreeWeeklyProgressChart. Add its component to
+ * the screen once and call setData whenever another goal is shown. Only the selected
+ * implementation is loaded, so the Java2D chart never loads the JFreeChart classes.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public interface WeeklyProgressChart {
+
+    String RENDERER_PROPERTY = "CHART_RENDERER";
+    String JAVA2D_RENDERER = "java2d";
+
+    /**
+     * Getter for the component showing the chart.
+     *
+     * @return The chart component.
+     */
+    JComponent getComponent();
+
+    /**
+     * Shows new data in the chart. Must be called on the event dispatch thread.
+     *
+     * @param data The weekly progress of a goal.
+     */
+    void setData(WeeklyProgressData data);
+
+    /**
+     * Checks whether the Java2D chart is selected instead of JFreeChart.
+     *
+     * @return True if the CHART_RENDERER system property is "java2d".
+     */
+    static boolean isJava2DSelected() {
+        return JAVA2D_RENDERER.equalsIgnoreCase(System.getProperty(RENDERER_PROPERTY));
+    }
+
+    /**
+     * Creates the chart selected by the CHART_RENDERER system property.
+     *
+     * @return A new, empty chart.
+     */
+    static WeeklyProgressChart create() {
+        return isJava2DSelected() ? new Java2DWeeklyProgressChart() : new JFreeWeeklyProgressChart();
+    }
+}
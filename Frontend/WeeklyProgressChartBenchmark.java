@@ -0,0 +1,151 @@
+package Frontend;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.swing.*;
+
+/**
+ * <h1>WeeklyProgressChartBenchmark Class</h1>
+ * The WeeklyProgressChartBenchmark class compares the two WeeklyProgressChart renderers: the
+ * JFreeChart chart and the Java2D chart.
+ *
+ * <p>Usage:
+ * Run the main method without arguments to benchmark both renderers, each in a fresh JVM so
+ * class loading is measured from a cold start, or pass "jfreechart" or "java2d" to benchmark one
+ * in the current JVM. For each renderer it reports the classes loaded and the time taken to
+ * create the chart and paint its first frame, the heap the chart uses, and the average time
+ * to repaint it and to switch its data. Runs headless, painting into an image.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public class WeeklyProgressChartBenchmark {
+
+    private static final int WIDTH = 700;
+    private static final int HEIGHT = 400;
+    private static final int WEEKS = 26;
+    private static final int WARM_UP_FRAMES = 200;
+    private static final int FRAMES = 1000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args "jfreechart" or "java2d" to benchmark one renderer in this JVM, or nothing for both.
+     * @throws Exception If a child JVM cannot be run.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            for (String renderer : new String[]{"jfreechart", WeeklyProgressChart.JAVA2D_RENDERER}) {
+                runInNewJvm(renderer);
+            }
+            return;
+        }
+        System.setProperty(WeeklyProgressChart.RENDERER_PROPERTY, args[0]);
+        SwingUtilities.invokeAndWait(WeeklyProgressChartBenchmark::benchmark);
+    }
+
+    /**
+     * Benchmarks the renderer selected by the CHART_RENDERER system property.
+     */
+    private static void benchmark() {
+        WeeklyProgressData[] data = {createData(1), createData(2)};
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        long heapBefore = usedHeap();
+
+        // Cold start: everything needed to show the first frame
+        int classesBefore = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        long start = System.nanoTime();
+        WeeklyProgressChart chart = WeeklyProgressChart.create();
+        JComponent component = chart.getComponent();
+        component.setSize(WIDTH, HEIGHT);
+        component.doLayout();
+        chart.setData(data[0]);
+        paint(component, image);
+        double firstFrameMillis = (System.nanoTime() - start) / 1e6;
+        int classesLoaded = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount() - classesBefore;
+        long chartHeap = usedHeap() - heapBefore;
+
+        // Steady state: repainting the same data, and switching between two goals
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            chart.setData(data[i % 2]);
+            paint(component, image);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            paint(component, image);
+        }
+        double repaintMillis = (System.nanoTime() - start) / 1e6 / FRAMES;
+        start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            chart.setData(data[i % 2]);
+            paint(component, image);
+        }
+        double switchMillis = (System.nanoTime() - start) / 1e6 / FRAMES;
+
+        System.out.printf("%-12s first frame %8.1f ms, classes loaded %5d, chart heap %6d KB, "
+                        + "repaint %6.3f ms, switch data and repaint %6.3f ms%n",
+                chart.getClass().getSimpleName().replace("WeeklyProgressChart", ""), firstFrameMillis,
+                classesLoaded, chartHeap / 1024, repaintMillis, switchMillis);
+    }
+
+    /**
+     * Creates chart data with random logged hours for WEEKS weeks.
+     *
+     * @param seed The seed of the random hours.
+     * @return The chart data.
+     */
+    private static WeeklyProgressData createData(long seed) {
+        Random random = new Random(seed);
+        long[] weeks = new long[WEEKS];
+        double[] loggedHours = new double[WEEKS];
+        for (int i = 0; i < WEEKS; i++) {
+            weeks[i] = i;
+            loggedHours[i] = random.nextInt(600) / 60.0;
+        }
+        return new WeeklyProgressData(weeks, loggedHours, 5.0);
+    }
+
+    private static void paint(JComponent component, BufferedImage image) {
+        Graphics2D g2 = image.createGraphics();
+        component.paint(g2);
+        g2.dispose();
+    }
+
+    /**
+     * Measures the heap in use after a garbage collection.
+     *
+     * @return The used heap in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Runs the benchmark of one renderer in a new JVM with the same class path.
+     *
+     * @param renderer The renderer to benchmark.
+     * @throws Exception If the JVM cannot be started or is interrupted.
+     */
+    private static void runInNewJvm(String renderer) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-Djava.awt.headless=true");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(WeeklyProgressChartBenchmark.class.getName());
+        command.add(renderer);
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        process.waitFor();
+    }
+}
@@ -0,0 +1,106 @@
+package Frontend;
+
+import java.util.Map;
+
+/**
+ * <h1>WeeklyProgressData Class</h1>
+ * The WeeklyProgressData class holds the two series of the weekly progress chart of a goal in
+ * primitive arrays: the hours logged in each week, and the weekly goal they are compared to.
+ *
+ * <p>Usage:
+ * Create it from a goal's weekly logged minutes with fromLoggedMinutes, off the event thread if
+ * needed, and pass it to a WeeklyProgressChart. Instances are read-only once created; the
+ * arrays returned by the getters must not be modified.</p>
+ *
+ * @author agent
+ * @version 1.0
+ * @since 10/17/2026
+ * @package Frontend
+ */
+public final class WeeklyProgressData {
+
+    private static final WeeklyProgressData EMPTY = new WeeklyProgressData(new long[0], new double[0], 0);
+
+    private final long[] weeks;
+    private final double[] loggedHours;
+    private final double weeklyGoal;
+
+    /**
+     * Constructor for the WeeklyProgressData class.
+     *
+     * @param weeks       The week numbers, counted from the goal's start date, in order.
+     * @param loggedHours The hours logged in each of those weeks.
+     * @param weeklyGoal  The hours to log each week to finish the goal on time.
+     */
+    public WeeklyProgressData(long[] weeks, double[] loggedHours, double weeklyGoal) {
+        if (weeks.length != loggedHours.length) {
+            throw new IllegalArgumentException("Every week needs its logged hours");
+        }
+        this.weeks = weeks;
+        this.loggedHours = loggedHours;
+        this.weeklyGoal = weeklyGoal;
+    }
+
+    /**
+     * Creates the chart data from the logged minutes per week of a goal.
+     *
+     * @param weeklyLoggedMinutes The logged minutes per week number, in week order.
+     * @param weeklyGoal          The hours to log each week to finish the goal on time.
+     * @return The chart data, in hours.
+     */
+    public static WeeklyProgressData fromLoggedMinutes(Map<Long, Integer> weeklyLoggedMinutes, double weeklyGoal) {
+        long[] weeks = new long[weeklyLoggedMinutes.size()];
+        double[] loggedHours = new double[weeks.length];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : weeklyLoggedMinutes.entrySet()) {
+            weeks[i] = entry.getKey();
+            loggedHours[i++] = entry.getValue() / 60.0; // Plot in hours
+        }
+        return new WeeklyProgressData(weeks, loggedHours, weeklyGoal);
+    }
+
+    /**
+     * Returns chart data without any weeks.
+     *
+     * @return The empty chart data.
+     */
+    public static WeeklyProgressData empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Getter for the number of weeks.
+     *
+     * @return The number of weeks with logged time.
+     */
+    public int size() {
+        return weeks.length;
+    }
+
+    /**
+     * Getter for the week numbers.
+     *
+     * @return The week numbers, in order.
+     */
+    public long[] getWeeks() {
+        return weeks;
+    }
+
+    /**
+     * Getter for the logged hours.
+     *
+     * @return The hours logged in each week.
+     */
+    public double[] getLoggedHours() {
+        return loggedHours;
+    }
+
+    /**
+     * Getter for the weekly goal.
+     *
+     * @return The hours to log each week to finish the goal on time.
+     */
+    public double getWeeklyGoal() {
+        return weeklyGoal;
+    }
+}